@@ -5,6 +5,7 @@ SafeTag Chatbot Server - FULL main.py
 포함 기능:
 - /           : 루트/헬스/정적
 - /ocr        : OCR 텍스트만 추출
+- /ocr/batch  : 여러 파일 OCR 텍스트 추출 (파일별 결과)
 - /ocr/sticker: OCR→유형판별→유효기간 계산→Spring 발급→스티커 PNG 생성
 - /chat       : 간단 챗봇(OPENAI_API_KEY 있으면 모델 호출, 없으면 로컬 에코)
 
@@ -550,26 +551,42 @@ async def spring_issue_sticker(
 # =========================
 # 7) /ocr (텍스트만)
 # =========================
+async def _ocr_text_from_upload(file: UploadFile) -> str:
+    raw = await file.read()
+    await file.close()
+    if not raw:
+        raise HTTPException(status_code=422, detail="업로드된 파일이 비어 있습니다.")
+    if "pdf" in (file.content_type or "").lower() or (file.filename or "").lower().endswith(".pdf"):
+        images = convert_from_bytes(raw, dpi=300, fmt="png")
+    else:
+        try:
+            img = Image.open(io.BytesIO(raw)).convert("RGB"); img.load()
+            images = [img]
+        except UnidentifiedImageError:
+            raise HTTPException(status_code=415, detail="이미지 형식을 인식할 수 없습니다.")
+    texts = _ocr_texts_from_images(images)
+    return "\n".join(texts)
+
 @app.post("/ocr")
 async def ocr(file: UploadFile = File(...)):
     try:
-        raw = await file.read()
-        await file.close()
-        if not raw:
-            raise HTTPException(status_code=422, detail="업로드된 파일이 비어 있습니다.")
-        if "pdf" in (file.content_type or "").lower() or (file.filename or "").lower().endswith(".pdf"):
-            images = convert_from_bytes(raw, dpi=300, fmt="png")
-        else:
-            try:
-                img = Image.open(io.BytesIO(raw)).convert("RGB"); img.load()
-                images = [img]
-            except UnidentifiedImageError:
-                raise HTTPException(status_code=415, detail="이미지 형식을 인식할 수 없습니다.")
-        texts = _ocr_texts_from_images(images)
-        return {"text": "\n".join(texts)}
+        return {"text": await _ocr_text_from_upload(file)}
     except Exception as e:
         raise HTTPException(status_code=500, detail=f"OCR 실패: {e}")
 
+# 여러 파일을 한 번에: 결과는 업로드 순서대로, 한 파일 실패가 나머지에 영향 없음
+@app.post("/ocr/batch")
+async def ocr_batch(files: List[UploadFile] = File(...)):
+    results: List[Dict[str, Any]] = []
+    for f in files:
+        try:
+            results.append({"filename": f.filename, "text": await _ocr_text_from_upload(f)})
+        except HTTPException as e:
+            results.append({"filename": f.filename, "error": str(e.detail)})
+        except Exception as e:
+            results.append({"filename": f.filename, "error": f"OCR 실패: {e}"})
+    return {"results": results}
+
 
 # =========================
 # 8) /ocr/sticker (핵심)
@@ -1,9 +1,82 @@
 package com.example.SafeTag_BE.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
 @Configuration
 @EnableAsync
 public class AsyncConfig {
+
+    /**
+     * OCR 응답 처리용 스레드 풀 (키워드 판정 + 결과 DB 반영).
+     * OCR 호출은 sendAsync 라 여기서 기다리지 않으며, 동시 요청 수는 OcrJobScheduler 의
+     * app.ocr.max-in-flight 로 제한한다. 큐가 가득 차면 TaskRejectedException 으로 거절하고,
+     * 스케줄러는 응답을 받은 스레드에서 바로 처리한다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor ocrThreadPool(MeterRegistry registry,
+                                                @Value("${app.ocr.workers:2}") int workers,
+                                                @Value("${app.ocr.queue-capacity:50}") int queueCapacity) {
+        Counter rejected = Counter.builder("safetag.ocr.rejected").register(registry);
+        // 큐에 들어간 뒤 워커가 잡기까지 걸린 시간
+        Timer queueWait = Timer.builder("safetag.ocr.queue.wait").register(registry);
+
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setCorePoolSize(Math.max(1, workers));
+        ex.setMaxPoolSize(Math.max(1, workers));
+        ex.setQueueCapacity(Math.max(0, queueCapacity));
+        ex.setThreadNamePrefix("ocr-");
+        ex.setRejectedExecutionHandler((r, executor) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("OCR queue full");
+        });
+        ex.setTaskDecorator(task -> {
+            long enqueued = System.nanoTime();
+            return () -> {
+                queueWait.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+                task.run();
+            };
+        });
+        ex.setWaitForTasksToCompleteOnShutdown(true);
+        ex.setAwaitTerminationSeconds(30);
+        ex.initialize();
+
+        // executor.queued / executor.active / executor.completed ... {name=ocr}
+        new ExecutorServiceMetrics(ex.getThreadPoolExecutor(), "ocr", Tags.empty()).bindTo(registry);
+        return ex;
+    }
+
+    /**
+     * {@code @Scheduled} 작업용 스케줄러.
+     * 기본 스케줄러는 스레드 하나라 OCR tick(200ms), 통화 상태 flush, 시그널링 reaper,
+     * QR 정리 cron 등이 서로 밀린다. 이름이 taskScheduler 라 {@code @Scheduled} 가 이 빈을 쓴다.
+     */
+    @Bean(name = "taskScheduler", destroyMethod = "shutdown")
+    public ThreadPoolTaskScheduler taskScheduler(MeterRegistry registry,
+                                                 @Value("${app.scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("sched-");
+        scheduler.setErrorHandler(t -> log.warn("[SCHED] task failed: {}", t.toString()));
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        scheduler.initialize();
+
+        new ExecutorServiceMetrics(scheduler.getScheduledExecutor(), "scheduling", Tags.empty()).bindTo(registry);
+        return scheduler;
+    }
 }
@@ -0,0 +1,34 @@
+package com.example.SafeTag_BE.config;
+
+import com.example.SafeTag_BE.enums.VerificationType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 자동 심사에서 문서 유형을 확인할 때 찾는 키워드 (대소문자 무시, 하나라도 있으면 해당 유형).
+ * 예: app.ocr.keywords.resident[0]=주민등록
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.ocr")
+public class OcrKeywordProperties {
+
+    private Map<VerificationType, List<String>> keywords = defaults();
+
+    private static Map<VerificationType, List<String>> defaults() {
+        Map<VerificationType, List<String>> m = new EnumMap<>(VerificationType.class);
+        m.put(VerificationType.RESIDENT, new ArrayList<>(List.of(
+                "주민등록", "등본", "resident", "address", "registration")));
+        m.put(VerificationType.PREGNANT, new ArrayList<>(List.of(
+                "임산부", "산모수첩", "진단서", "pregnancy", "obstetric", "maternity")));
+        m.put(VerificationType.DISABLED, new ArrayList<>(List.of(
+                "장애인", "복지카드", "장애인등록증", "disability", "welfare", "handicap")));
+        return m;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.SafeTag_BE.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 인증 없이 접근 가능한 경로 목록 (JwtAuthenticationFilter / SecurityConfig 공용).
+ * "/path/**" 는 /path 및 하위 경로, 그 외는 정확히 일치하는 경로만 의미한다.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.security.public-routes")
+public class PublicRouteProperties {
+
+    /** permitAll + JWT 필터 자체를 건너뜀 */
+    private List<String> anonymous = new ArrayList<>(List.of(
+            "/v3/api-docs/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/h2-console/**",
+            "/api/auth/**",     // 로그인/회원가입 공개
+            "/api/qrs/**",
+            "/api/chat/**",
+            "/api/calls/**",
+            "/api/ice-config",
+            "/ws/**"
+    ));
+
+    /** permitAll 이지만 토큰이 있으면 인증 정보를 채움 (예: 관리자 QR 조회) */
+    private List<String> optionalAuth = new ArrayList<>(List.of(
+            "/error",
+            "/api/user/signup",
+            "/api/admin/signup",
+            "/api/relay/**",
+            "/c/**",
+            "/voice/**",
+            "/actuator/health"
+    ));
+}
@@ -0,0 +1,60 @@
+package com.example.SafeTag_BE.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "signaling")
+public class SignalingProperties {
+
+    public enum OverflowPolicy {
+        /** 한도를 넘는 새 메시지를 버림 */
+        DROP,
+        /** 해당 세션을 끊음 (클라이언트가 재접속) */
+        CLOSE
+    }
+
+    /** 세션별 송신 대기 메시지 수 한도 */
+    private int sendQueueLimit = 256;
+    /** 세션별 송신 대기 바이트 한도 */
+    private int sendBufferBytes = 512 * 1024;
+    /** 한도 초과 시 처리 방식 */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.CLOSE;
+    /** 송신 전용 스레드 수 */
+    private int sendThreads = 4;
+    /** 메시지 하나를 보내는 데 이 시간(ms)을 넘기면 느린 피어로 보고 세션을 끊음 */
+    private long sendTimeLimitMs = 5_000;
+    /** 이 시간(ms) 동안 아무 프레임(pong 포함)도 없으면 끊긴 연결로 보고 정리 */
+    private long idleTimeoutMs = 60_000;
+
+    private Cluster cluster = new Cluster();
+    private IceBatch iceBatch = new IceBatch();
+
+    @Data
+    public static class Cluster {
+        /** true 면 Redis pub/sub 으로 노드 간 방 공유 */
+        private boolean enabled = false;
+        /** 노드 식별자 (비우면 기동 시 랜덤) */
+        private String nodeId;
+        /** 방 채널/디렉터리 키 prefix */
+        private String keyPrefix = "signaling:room:";
+        /** 디렉터리 키 TTL (참가자 입장과 하트비트 때마다 갱신) */
+        private int roomTtlSeconds = 3600;
+        /** 노드 하트비트 키 prefix */
+        private String nodeKeyPrefix = "signaling:node:";
+        /** 하트비트 주기. 3 주기 동안 갱신이 없는 노드의 디렉터리 항목은 무시/삭제 */
+        private int heartbeatSeconds = 5;
+    }
+
+    @Data
+    public static class IceBatch {
+        /** true 면 같은 발신자의 ice 를 모아 ice-batch 프레임으로 전달 */
+        private boolean enabled = false;
+        /** 첫 candidate 이후 모으는 시간(ms) */
+        private long windowMs = 30;
+        /** 이 개수가 차면 즉시 전달 */
+        private int maxCandidates = 20;
+    }
+}
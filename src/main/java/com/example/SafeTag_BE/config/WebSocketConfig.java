@@ -1,11 +1,13 @@
 package com.example.SafeTag_BE.config;
 
+import com.example.SafeTag_BE.webrtc.BinarySignalCodec;
 import com.example.SafeTag_BE.webrtc.SignalingHandler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 
 @Configuration
 @EnableWebSocket
@@ -14,7 +16,13 @@ public class WebSocketConfig implements WebSocketConfigurer {
     private final SignalingHandler signalingHandler;
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // 클라이언트가 Sec-WebSocket-Protocol 로 바이너리 서브프로토콜을 요청하면 협상,
+        // 요청이 없으면 기존 JSON 텍스트 프로토콜 그대로
+        DefaultHandshakeHandler handshakeHandler = new DefaultHandshakeHandler();
+        handshakeHandler.setSupportedProtocols(BinarySignalCodec.SUBPROTOCOL);
+
         registry.addHandler(signalingHandler, "/ws/signaling")
+                .setHandshakeHandler(handshakeHandler)
                 // 패턴 기반 허용: 로컬/LAN/터널 전부 포함
                 .setAllowedOriginPatterns(
                         "http://localhost:*",
@@ -1,7 +1,8 @@
 package com.example.SafeTag_BE.controller;
 
-import com.example.SafeTag_BE.repository.DynamicQRRepository;
 import com.example.SafeTag_BE.service.CallSessionService;
+import com.example.SafeTag_BE.service.FcmTokenRegistry;
+import com.example.SafeTag_BE.service.QrService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -9,9 +10,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import com.example.SafeTag_BE.service.FcmService;
-import com.google.firebase.messaging.FirebaseMessagingException;
 
 import java.time.Instant;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -19,9 +20,10 @@ import java.time.Instant;
 @Slf4j
 public class CallApiController {
 
-    private final DynamicQRRepository dynamicQRRepository;
+    private final QrService qrService;
     private final CallSessionService callSessionService;
     private final FcmService fcmService;
+    private final FcmTokenRegistry fcmTokenRegistry;
 
     public record StartReq(String qrUuid, Long callerUserId) {}
     public record StartRes(String sessionId, long ttlSeconds) {}
@@ -31,27 +33,26 @@ public class CallApiController {
         if (req == null || req.qrUuid() == null || req.qrUuid().isBlank())
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "qrUuid required");
 
-        var qr = dynamicQRRepository.findByQrValue(req.qrUuid())
+        var qr = qrService.lookupByValue(req.qrUuid())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "invalid qr"));
 
-        var user = qr.getUser();
-        if (user == null)
+        if (qr.ownerId() == null)
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "qr.user is null");
 
-        var cs = callSessionService.createWebRtcRequested(user.getId(), req.callerUserId(), req.qrUuid());
+        var cs = callSessionService.createWebRtcRequested(qr.ownerId(), req.callerUserId(), req.qrUuid());
         long ttl = 0;
         if (cs.getExpiresAt() != null) {
             ttl = Math.max(0, cs.getExpiresAt().getEpochSecond() - Instant.now().getEpochSecond());
         }
 
-        // 여기서 푸시
-        try {
-            var token = user.getFcmToken(); // 차주 토큰
-            fcmService.sendCallRequest(token, user.getName(), cs.getSessionUuid());
-            log.info("[CALL] push sent: user={}, sessionId={}", user.getUsername(), cs.getSessionUuid());
-        } catch (FirebaseMessagingException e) {
-            log.warn("[CALL] push failed: {}", e.getMessage());
-
+        // 여기서 푸시 (발송 큐에 넣고 바로 응답)
+        var tokens = fcmTokenRegistry.activeTokens(qr.ownerId()); // 차주의 모든 기기
+        if (tokens.isEmpty()) {
+            log.info("[CALL] no push token: user={}", qr.ownerUsername());
+        } else {
+            int queued = fcmService.sendCallRequest(qr.ownerId(), List.copyOf(tokens), qr.ownerName(), cs.getSessionUuid());
+            log.info("[CALL] push queued: user={}, sessionId={}, tokens={}, queued={}",
+                    qr.ownerUsername(), cs.getSessionUuid(), tokens.size(), queued);
         }
 
         return ResponseEntity.ok(new StartRes(cs.getSessionUuid(), ttl));
@@ -1,9 +1,7 @@
 package com.example.SafeTag_BE.controller;
 
-import com.example.SafeTag_BE.entity.FcmToken;
-import com.example.SafeTag_BE.repository.FcmTokenRepository;
 import com.example.SafeTag_BE.repository.UserRepository;
-import java.time.LocalDateTime;
+import com.example.SafeTag_BE.service.FcmTokenRegistry;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,7 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/fcm")
 @RequiredArgsConstructor
 public class FcmController {
-    private final FcmTokenRepository fcmTokenRepository;
+    private final FcmTokenRegistry fcmTokenRegistry;
     private final UserRepository userRepository;
 
     @PostMapping("/register")
@@ -30,25 +28,8 @@ public class FcmController {
         var user = userRepository.findByUsername(auth.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // 기존 토큰 조회
-        var existing = fcmTokenRepository.findByToken(token).orElse(null);
-
-        if (existing != null) {
-            //  소유자 재바인딩 (토큰이 다른 유저에게 묶여 있었다면 현재 로그인 유저로 변경)
-            existing.setUser(user);
-            existing.setActive(true);
-            existing.setUpdatedAt(LocalDateTime.now());
-            fcmTokenRepository.save(existing);
-        } else {
-            // 신규 등록
-            fcmTokenRepository.save(
-                    FcmToken.builder()
-                            .user(user)
-                            .token(token)
-                            .active(true)
-                            .build()
-            );
-        }
+        // 신규 등록 또는 소유자 재바인딩 (토큰이 다른 유저에게 묶여 있었다면 현재 로그인 유저로 변경)
+        fcmTokenRegistry.register(user.getId(), token);
 
         return ResponseEntity.ok(Map.of("status", "FCM token registered"));
     }
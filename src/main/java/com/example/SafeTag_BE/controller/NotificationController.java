@@ -1,8 +1,11 @@
 package com.example.SafeTag_BE.controller;
 
 import com.example.SafeTag_BE.security.CustomUserPrincipal;
-import com.example.SafeTag_BE.service.UserService;
+import com.example.SafeTag_BE.service.FcmTokenRegistry;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -18,7 +21,7 @@ import com.example.SafeTag_BE.service.FcmService;
 @RequestMapping("/api/notify")
 public class NotificationController {
 
-    private final UserService userService;
+    private final FcmTokenRegistry fcmTokenRegistry;
     private final FcmService fcmService;
 
     // body: { "token": "FCM_DEVICE_TOKEN" }
@@ -36,7 +39,7 @@ public class NotificationController {
             return ResponseEntity.badRequest().body("Missing FCM token");
         }
 
-        userService.updateFcmToken(user.id(), token);
+        fcmTokenRegistry.register(user.id(), token);
         return ResponseEntity.ok("FCM token registered");
     }
 
@@ -48,16 +51,19 @@ public class NotificationController {
             return ResponseEntity.status(401).body("Unauthorized");
         }
 
-        // 1 로그인한 사용자의 fcmToken 가져오기
-        String token = userService.getUser(user.id()).getFcmToken();
-        if (token == null || token.isBlank()) {
+        // 1 로그인한 사용자의 모든 활성 기기 토큰
+        Set<String> tokens = fcmTokenRegistry.activeTokens(user.id());
+        if (tokens.isEmpty()) {
             return ResponseEntity.badRequest().body("No FCM token registered");
         }
 
         try {
-            // 2 실제 푸시 전송
-            String response = fcmService.sendToToken(token, "테스트 알림", "SafeTag에서 보낸 테스트 메시지", null);
-            return ResponseEntity.ok("FCM sent successfully: " + response);
+            // 2 실제 푸시 전송 (테스트용이라 동기)
+            List<String> responses = new ArrayList<>();
+            for (String token : List.copyOf(tokens)) {
+                responses.add(fcmService.sendToToken(token, "테스트 알림", "SafeTag에서 보낸 테스트 메시지", null));
+            }
+            return ResponseEntity.ok("FCM sent successfully: " + String.join(", ", responses));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("FCM send failed: " + e.getMessage());
         }
@@ -22,7 +22,7 @@ public class OtpController {
         String otp = String.format("%06d", RND.nextInt(1_000_000));
         Instant expInstant = InMemoryStore.plusMinutes(5);
         LocalDateTime expLdt = LocalDateTime.ofInstant(expInstant, ZONE);
-        InMemoryStore.OTP.put(otp, expInstant);
+        InMemoryStore.OTP.put(otp, expInstant, expInstant);
         return new OtpIssueResponseDto(otp, expLdt);
     }
 }
@@ -133,6 +133,7 @@ import com.example.SafeTag_BE.entity.DynamicQR;
 import com.example.SafeTag_BE.exception.QrGoneException;
 import com.example.SafeTag_BE.repository.UserRepository;
 import com.example.SafeTag_BE.service.QrService;
+import com.example.SafeTag_BE.store.QrImageCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -247,10 +248,11 @@ public class QrController {
     @Operation(summary = "QR 이미지 조회", description = "QR ID를 기반으로 이미지(PNG)를 반환합니다.")
     @GetMapping("/{qrId}/image")
     public ResponseEntity<byte[]> getQrImage(@PathVariable Long qrId) throws Exception {
-        DynamicQR qr = qrService.getValidByIdOrGone(qrId);
-        byte[] imageBytes = qrService.generateQrImage(qr.getQrValue());
+        // 캐시 히트면 DB 조회 없이 바로 응답
+        QrImageCache.CachedImage image = qrService.getQrImage(qrId);
+        byte[] imageBytes = image.png();
 
-        Instant exp = toInstantUTC(qr.getExpiredAt());
+        Instant exp = toInstantUTC(image.expiredAt());
         long ttl = ttlSecondsFrom(exp);
 
         HttpHeaders headers = new HttpHeaders();
@@ -1,7 +1,7 @@
 package com.example.SafeTag_BE.controller;
 
-import com.example.SafeTag_BE.repository.DynamicQRRepository;
 import com.example.SafeTag_BE.service.CallSessionService;
+import com.example.SafeTag_BE.service.QrService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -12,15 +12,15 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class RelayController {
 
-    private final DynamicQRRepository dynamicQRRepository;
+    private final QrService qrService;
     private final CallSessionService callSessionService;
 
     @GetMapping("/c/{uuid}")
     public String landing(@PathVariable String uuid, Model model, HttpServletRequest req) {
-        var qr = dynamicQRRepository.findByQrValue(uuid)
+        var qr = qrService.lookupByValue(uuid)
                 .orElseThrow(() -> new IllegalArgumentException("invalid qr uuid"));
 
-        var cs = callSessionService.createWebRtcRequested(qr.getUser().getId(), null, uuid);
+        var cs = callSessionService.createWebRtcRequested(qr.ownerId(), null, uuid);
 
         String forwardedHost = req.getHeader("X-Forwarded-Host");
         String forwardedProto = req.getHeader("X-Forwarded-Proto");
@@ -30,7 +30,7 @@ public class RelayController {
                 ? forwardedHost
                 : req.getServerName() + (req.getServerPort() != 80 && req.getServerPort() != 443 ? ":" + req.getServerPort() : "");
 
-        model.addAttribute("ownerName", qr.getUser().getName());
+        model.addAttribute("ownerName", qr.ownerName());
         model.addAttribute("sessionId", cs.getSessionUuid());
         model.addAttribute("wsUrl", wsScheme + "://" + hostPort + "/ws/signaling");
         return "landing"; // templates/landing.html
@@ -126,7 +126,8 @@ public class StickerController {
 
         // 7) 인메모리 만료 관리
         Instant expInstant = expDate.atStartOfDay(ZONE).toInstant();
-        InMemoryStore.STICKERS.put(id.toString(), expInstant);
+        // 만료 후에도 잠시 남겨 두어 조회 시 410(EXPIRED)로 응답할 수 있게 함
+        InMemoryStore.STICKERS.put(id.toString(), expInstant, expInstant.plus(Duration.ofDays(1)));
 
         // 8) 응답 반환
         String qr = "QR:STICKER:" + id;
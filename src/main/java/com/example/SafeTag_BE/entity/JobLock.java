@@ -0,0 +1,28 @@
+package com.example.SafeTag_BE.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * 여러 노드 중 한 곳에서만 돌아야 하는 스케줄 작업용 잠금 (이름별 한 행).
+ * locked_until 이 지나면 다른 노드가 가져갈 수 있다.
+ */
+@Entity
+@Table(name = "job_lock")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class JobLock {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "locked_by", length = 64)
+    private String lockedBy;
+}
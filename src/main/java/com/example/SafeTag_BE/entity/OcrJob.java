@@ -0,0 +1,83 @@
+package com.example.SafeTag_BE.entity;
+
+import com.example.SafeTag_BE.enums.VerificationType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * OCR 심사 작업 outbox.
+ * Verification 과 같은 트랜잭션에서 저장되고, OcrJobScheduler 가 커밋된 행만 가져가 처리한다.
+ */
+@Entity
+@Table(
+        name = "ocr_job",
+        indexes = {
+                @Index(name = "idx_ocr_job_verification", columnList = "verification_id", unique = true),
+                @Index(name = "idx_ocr_job_due", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_ocr_job_lease", columnList = "status, locked_until")
+        }
+)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class OcrJob {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "verification_id", nullable = false)
+    private Long verificationId;
+
+    @Column(name = "file_id", length = 200)
+    private String fileId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private VerificationType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OcrJobStatus status;
+
+    // 가져간 횟수 (재시도 포함)
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // 이 시각 이후에 가져갈 수 있음 (재시도 백오프)
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    // RUNNING 임대 만료 시각. 지나면 다른 노드가 다시 가져간다 (처리 중 재시작 대비)
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @Column(name = "locked_by", length = 64)
+    private String lockedBy;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public static OcrJob pending(Verification v) {
+        if (v.getFileId() == null || v.getFileId().isBlank()) {
+            throw new IllegalArgumentException("OCR 작업에는 fileId 가 필요합니다. verificationId=" + v.getId());
+        }
+        Instant now = Instant.now();
+        return OcrJob.builder()
+                .verificationId(v.getId())
+                .fileId(v.getFileId())
+                .type(v.getType())
+                .status(OcrJobStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
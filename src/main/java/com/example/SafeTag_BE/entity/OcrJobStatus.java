@@ -0,0 +1,5 @@
+package com.example.SafeTag_BE.entity;
+
+public enum OcrJobStatus {
+    PENDING, RUNNING, DONE, FAILED
+}
@@ -0,0 +1,43 @@
+package com.example.SafeTag_BE.job;
+
+import com.example.SafeTag_BE.repository.JobLockRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * job_lock 테이블 기반 노드 간 작업 잠금 (ShedLock 과 같은 방식).
+ * 잠금은 lockAtMost 가 지나면 자동으로 풀리므로, 잡은 노드가 죽어도 다음 실행이 막히지 않는다.
+ */
+@Component
+public class JobLockService {
+
+    private final JobLockRepository repo;
+    private final String nodeId;
+    // 이미 행을 만들어 둔 잠금 이름
+    private final Map<String, Boolean> created = new ConcurrentHashMap<>();
+
+    public JobLockService(JobLockRepository repo,
+                          @Value("${app.job-lock.node-id:}") String nodeId) {
+        this.repo = repo;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString().substring(0, 8) : nodeId;
+    }
+
+    /** 잡았으면 true. 다른 노드가 잡고 있으면 false */
+    public boolean tryLock(String name, Duration lockAtMost) {
+        Instant now = Instant.now();
+        created.computeIfAbsent(name, n -> {
+            repo.createIfAbsent(n, now.minusSeconds(1));
+            return Boolean.TRUE;
+        });
+        return repo.tryAcquire(name, now.plus(lockAtMost), nodeId, now) == 1;
+    }
+
+    public void unlock(String name) {
+        repo.release(name, nodeId, Instant.now());
+    }
+}
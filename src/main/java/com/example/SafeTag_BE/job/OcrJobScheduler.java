@@ -0,0 +1,357 @@
+package com.example.SafeTag_BE.job;
+
+import com.example.SafeTag_BE.entity.OcrJob;
+import com.example.SafeTag_BE.entity.OcrJobStatus;
+import com.example.SafeTag_BE.repository.OcrJobRepository;
+import com.example.SafeTag_BE.service.OcrClient;
+import com.example.SafeTag_BE.service.OcrService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * ocr_job outbox 를 읽어 OCR 서버로 보내는 스케줄러.
+ * <p>
+ * 동시에 보낼 수 있는 요청 수(max-in-flight)에 남은 자리만큼만 FOR UPDATE SKIP LOCKED 로 가져와
+ * RUNNING + 임대(lease)로 표시하고, 그 트랜잭션이 커밋된 뒤에 보낸다. 요청은 sendAsync 로 보내므로
+ * 응답을 기다리는 스레드는 없고, 응답이 오면 ocr 풀에서 판정/반영한 뒤 자리를 반납한다.
+ * 보내기 직전에 임대를 다시 잡는다. 처리 중 서버가 죽으면 임대가 끝난 뒤 다시 가져가되, 이미 max-attempts 만큼
+ * 가져간 작업은 다시 돌리지 않고 바로 실패 처리한다.
+ * OCR 호출 실패는 지수 백오프로 max-attempts 까지 재시도한 뒤 반려 처리하고,
+ * 파일이 없는 경우처럼 다시 해도 소용없는 실패는 바로 반려한다.
+ * 한 번에 가져온 작업은 max-files 개씩 묶어 /ocr/batch 한 번으로 보내고, 결과를 작업별로 나눠 반영한다.
+ */
+@Slf4j
+@Component
+public class OcrJobScheduler {
+
+    private final OcrJobRepository repo;
+    private final OcrService ocrService;
+    private final OcrClient ocrClient;
+    private final ThreadPoolTaskExecutor pool;
+    private final TransactionTemplate tx;
+
+    /** 한 번에 가져올 최대 작업 수 */
+    private final int batchSize;
+    /** 새 작업이 없을 때 DB 를 확인하는 주기(ms) */
+    private final long pollMs;
+    /** RUNNING 임대 시간(초) - OCR 호출 타임아웃보다 넉넉하게 */
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final long backoffMs;
+    /** OCR 요청 하나에 담을 최대 파일 수 (1 이면 /ocr 단건 호출) */
+    private final int maxFiles;
+    private final String nodeId;
+    // 응답을 기다리는 요청 수 제한 (OCR 서버가 동시에 처리할 수 있는 만큼)
+    private final Semaphore inFlight;
+
+    // 커밋된 새 작업이 있거나 이전 배치가 꽉 찼으면 다음 tick 에 바로 poll
+    private final AtomicBoolean kicked = new AtomicBoolean(true);
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile long nextPollAt;
+
+    private final Counter claimed;
+    private final Counter retried;
+    private final Counter approved;
+    private final Counter rejected;
+    private final Counter failed;
+    private final Timer jobLatency;
+    private final Timer e2eLatency;
+    private final DistributionSummary batchFiles;
+    private final AtomicLong finished = new AtomicLong();
+    private long rateFrom = System.nanoTime();
+    private long rateFinished;
+    private volatile double jobsPerSecond;
+    private volatile long backlog;
+
+    public OcrJobScheduler(OcrJobRepository repo,
+                           OcrService ocrService,
+                           OcrClient ocrClient,
+                           @Qualifier("ocrThreadPool") ThreadPoolTaskExecutor pool,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry registry,
+                           @Value("${app.ocr.job.batch-size:20}") int batchSize,
+                           @Value("${app.ocr.job.poll-ms:2000}") long pollMs,
+                           @Value("${app.ocr.job.lease-seconds:120}") long leaseSeconds,
+                           @Value("${app.ocr.job.max-attempts:5}") int maxAttempts,
+                           @Value("${app.ocr.job.backoff-ms:2000}") long backoffMs,
+                           @Value("${app.ocr.batch.max-files:8}") int maxFiles,
+                           @Value("${app.ocr.max-in-flight:4}") int maxInFlight,
+                           @Value("${app.ocr.job.node-id:}") String nodeId) {
+        this.repo = repo;
+        this.ocrService = ocrService;
+        this.ocrClient = ocrClient;
+        this.pool = pool;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.pollMs = Math.max(100L, pollMs);
+        this.leaseSeconds = Math.max(1L, leaseSeconds);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = Math.max(1L, backoffMs);
+        this.maxFiles = Math.max(1, maxFiles);
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString().substring(0, 8) : nodeId;
+
+        this.claimed = Counter.builder("safetag.ocr.job.claimed").register(registry);
+        this.retried = Counter.builder("safetag.ocr.job.retried").register(registry);
+        this.approved = Counter.builder("safetag.ocr.job.finished").tag("result", "approved").register(registry);
+        this.rejected = Counter.builder("safetag.ocr.job.finished").tag("result", "rejected").register(registry);
+        this.failed = Counter.builder("safetag.ocr.job.finished").tag("result", "failed").register(registry);
+        // 가져간 시점부터 결과 반영까지
+        this.jobLatency = Timer.builder("safetag.ocr.job.latency").register(registry);
+        // 심사 요청(outbox 기록)부터 결과 반영까지
+        this.e2eLatency = Timer.builder("safetag.verification.e2e.latency").register(registry);
+        this.batchFiles = DistributionSummary.builder("safetag.ocr.batch.size").register(registry);
+        Gauge.builder("safetag.ocr.job.per.second", this, s -> s.jobsPerSecond).register(registry);
+        Gauge.builder("safetag.ocr.job.backlog", this, s -> s.backlog).register(registry);
+        Gauge.builder("safetag.ocr.in.flight", this, s -> Math.max(1, maxInFlight) - s.inFlight.availablePermits())
+                .register(registry);
+    }
+
+    /** 새 작업이 커밋됐을 때 호출 (다음 tick 에 poll 주기를 기다리지 않고 가져감) */
+    public void kick() {
+        kicked.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ocr.job.tick-ms:200}")
+    public void tick() {
+        updateRate();
+        long now = System.currentTimeMillis();
+        if (!kicked.getAndSet(false) && now < nextPollAt) return;
+        nextPollAt = now + pollMs;
+
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            log.warn("[OCR] job dispatch failed: {}", e.toString());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void dispatch() {
+        // 요청 하나가 최대 maxFiles 건을 처리
+        long slots = inFlight.availablePermits();
+        int free = (int) Math.min(batchSize, slots * maxFiles);
+        if (free <= 0) return;
+
+        List<OcrJob> locked = new ArrayList<>();
+        List<OcrJob> jobs = tx.execute(s -> claim(free, locked));
+        if (jobs == null) return;
+        if (locked.size() > jobs.size()) failed.increment(locked.size() - jobs.size());
+        // 꽉 채워 가져왔으면 더 남아 있을 수 있음
+        if (locked.size() == free) kicked.set(true);
+        if (jobs.isEmpty()) return;
+        claimed.increment(jobs.size());
+
+        // 여기부터는 커밋된 뒤
+        for (int i = 0; i < jobs.size(); i += maxFiles) {
+            List<OcrJob> group = List.copyOf(jobs.subList(i, Math.min(i + maxFiles, jobs.size())));
+            if (!inFlight.tryAcquire()) {
+                release(group);
+                continue;
+            }
+            try {
+                send(group);
+            } catch (RuntimeException e) {
+                // 보내기 전에 실패 (임대 갱신 등): 다음 poll 에서 다시 가져가도록 되돌림
+                inFlight.release();
+                log.warn("[OCR] job send failed: {}", e.toString());
+                release(group);
+            }
+        }
+    }
+
+    // locked: 잠근 전체 행, 반환: 실행할 작업 (시도 한도를 넘긴 것은 여기서 실패 처리)
+    private List<OcrJob> claim(int limit, List<OcrJob> locked) {
+        Instant now = Instant.now();
+        locked.addAll(repo.lockDue(now, limit));
+        // 보내기 전까지의 임대. 보낼 때 다시 잡는다
+        Instant lease = now.plusSeconds(leaseSeconds);
+        List<OcrJob> jobs = new ArrayList<>(locked.size());
+        for (OcrJob j : locked) {
+            if (j.getAttempts() >= maxAttempts) {
+                // 임대가 만료돼 다시 잡힌 작업: 한도 없이 돌지 않도록 여기서 끝냄
+                String error = "처리 중 임대 만료 (시도 " + j.getAttempts() + "회)";
+                j.setStatus(OcrJobStatus.FAILED);
+                j.setLockedUntil(null);
+                j.setLastError(error);
+                j.setFinishedAt(now);
+                ocrService.applyDecision(j.getVerificationId(), false, "OCR 호출 실패: " + error);
+                continue;
+            }
+            jobs.add(j);
+            j.setStatus(OcrJobStatus.RUNNING);
+            j.setAttempts(j.getAttempts() + 1);
+            j.setLockedUntil(lease);
+            j.setLockedBy(nodeId);
+        }
+        backlog = repo.countByStatus(OcrJobStatus.PENDING);
+        return jobs;
+    }
+
+    private void release(List<OcrJob> group) {
+        tx.executeWithoutResult(s -> group.forEach(j -> repo.release(j.getId(), j.getAttempts())));
+    }
+
+    // 보내기 직전에 임대를 새로 잡음. 그 사이 다른 노드가 다시 가져갔으면 false
+    private boolean startLease(OcrJob job) {
+        Instant until = Instant.now().plusSeconds(leaseSeconds);
+        Integer n = tx.execute(s -> repo.startLease(job.getId(), job.getAttempts(), until));
+        if (n != null && n == 1) return true;
+        log.info("[OCR] job {} lease lost before start (attempt {})", job.getId(), job.getAttempts());
+        return false;
+    }
+
+    // 요청을 보내고 바로 돌아옴. 응답은 complete 에서 처리
+    private void send(List<OcrJob> group) {
+        List<OcrJob> jobs = group.stream().filter(this::startLease).toList();
+        if (jobs.isEmpty()) {
+            inFlight.release();
+            return;
+        }
+        long started = System.nanoTime();
+        if (jobs.size() == 1) {
+            OcrJob job = jobs.get(0);
+            ocrClient.recognizeAsync(job.getFileId())
+                    .whenComplete((text, e) -> complete(jobs, started, () -> onResult(job, text, e)));
+        } else {
+            batchFiles.record(jobs.size());
+            List<String> fileIds = jobs.stream().map(OcrJob::getFileId).toList();
+            ocrClient.recognizeBatchAsync(fileIds)
+                    .whenComplete((results, e) -> complete(jobs, started, () -> onResults(jobs, results, e)));
+        }
+    }
+
+    // 판정 + DB 반영은 ocr 풀에서 (풀이 가득 차면 응답을 받은 스레드에서 바로). 끝나면 자리 반납
+    private void complete(List<OcrJob> jobs, long started, Runnable handler) {
+        Runnable task = () -> {
+            try {
+                handler.run();
+            } catch (RuntimeException e) {
+                log.warn("[OCR] result handling failed: {}", e.toString());
+            } finally {
+                long elapsed = System.nanoTime() - started;
+                jobs.forEach(j -> jobLatency.record(elapsed, TimeUnit.NANOSECONDS));
+                inFlight.release();
+                if (backlog > 0) kicked.set(true);
+            }
+        };
+        try {
+            pool.execute(task);
+        } catch (TaskRejectedException e) {
+            task.run();
+        }
+    }
+
+    private void onResult(OcrJob job, String text, Throwable error) {
+        if (error != null) {
+            onCallFailure(job, unwrap(error));
+            return;
+        }
+        OcrService.Decision d = ocrService.decide(text, job.getType());
+        finish(job, OcrJobStatus.DONE, d.approve(), d.reason(), null);
+    }
+
+    // 한 번의 요청 결과를 작업별로 반영
+    private void onResults(List<OcrJob> jobs, List<OcrClient.Result> results, Throwable error) {
+        if (error != null) {
+            Exception cause = unwrap(error);
+            // 보내는 중 파일 하나가 사라진 경우: 나머지까지 반려하지 않고 재시도 때 파일별로 다시 확인
+            Exception retry = cause instanceof OcrClient.MissingFileException
+                    ? new IllegalStateException(cause.getMessage()) : cause;
+            jobs.forEach(j -> onCallFailure(j, retry));
+            return;
+        }
+
+        for (int i = 0; i < jobs.size(); i++) {
+            OcrJob job = jobs.get(i);
+            OcrClient.Result r = results.get(i);
+            if (!r.ok()) {
+                onCallFailure(job, r.retryable()
+                        ? new IllegalStateException(r.error())
+                        : new OcrClient.MissingFileException(job.getFileId()));
+                continue;
+            }
+            OcrService.Decision d = ocrService.decide(r.text(), job.getType());
+            finish(job, OcrJobStatus.DONE, d.approve(), d.reason(), null);
+        }
+    }
+
+    private static Exception unwrap(Throwable e) {
+        Throwable c = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return c instanceof Exception ex ? ex : new IllegalStateException(c);
+    }
+
+    private void onCallFailure(OcrJob job, Exception e) {
+        String error = truncate(e.getMessage() == null ? e.toString() : e.getMessage());
+        // 파일이 없으면 다시 보내도 같음
+        if (job.getAttempts() >= maxAttempts || e instanceof OcrClient.MissingFileException) {
+            finish(job, OcrJobStatus.FAILED, false, "OCR 호출 실패: " + error, error);
+            return;
+        }
+
+        // full jitter: 0 ~ backoff * 2^(attempt-1)
+        long cap = backoffMs << Math.min(job.getAttempts() - 1, 10);
+        Instant next = Instant.now().plusMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+        Integer n = tx.execute(s -> repo.reschedule(job.getId(), job.getAttempts(), next, error));
+        if (n != null && n == 1) retried.increment();
+    }
+
+    // 작업 종료 표시와 심사 결과를 한 트랜잭션으로 (임대를 잃었으면 둘 다 하지 않음)
+    private void finish(OcrJob job, OcrJobStatus status, boolean approve, String reason, String error) {
+        Instant now = Instant.now();
+        Boolean applied = tx.execute(s -> {
+            if (repo.finish(job.getId(), job.getAttempts(), status, error, now) != 1) return false;
+            ocrService.applyDecision(job.getVerificationId(), approve, truncate(reason));
+            return true;
+        });
+        if (!Boolean.TRUE.equals(applied)) {
+            log.info("[OCR] job {} lease lost, result dropped (attempt {})", job.getId(), job.getAttempts());
+            return;
+        }
+
+        (status == OcrJobStatus.FAILED ? failed : approve ? approved : rejected).increment();
+        finished.incrementAndGet();
+        if (job.getCreatedAt() != null) e2eLatency.record(Duration.between(job.getCreatedAt(), now));
+    }
+
+    // 10초 단위로 처리량 갱신 (스케줄러 스레드에서만 호출)
+    private void updateRate() {
+        long now = System.nanoTime();
+        double elapsed = (now - rateFrom) / 1_000_000_000.0;
+        if (elapsed < 10) return;
+        long total = finished.get();
+        jobsPerSecond = (total - rateFinished) / elapsed;
+        rateFinished = total;
+        rateFrom = now;
+    }
+
+    // reason 컬럼 길이(500) 안으로
+    private static String truncate(String s) {
+        return s != null && s.length() > 400 ? s.substring(0, 400) : s;
+    }
+}
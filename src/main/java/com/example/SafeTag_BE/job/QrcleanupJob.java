@@ -1,25 +1,126 @@
 package com.example.SafeTag_BE.job;
 
 import com.example.SafeTag_BE.repository.DynamicQRRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 @EnableScheduling
-@RequiredArgsConstructor
 public class QrcleanupJob {
 
+    private static final String LOCK_NAME = "qr-purge";
+
     private final DynamicQRRepository repo;
+    private final JobLockService jobLock;
+
+    /** 한 번에 지울 id 범위 크기 */
+    private final int batchSize;
+    /** 청크 사이 대기(ms) - issueOrRotate 의 insert 와 락 경합 완화 */
+    private final long pauseMs;
+    /** 만료 후 이 시간(초)이 지난 QR 만 삭제 */
+    private final long graceSeconds;
+    /** 노드 간 잠금 유지 시간(초) - 실행 주기(5분)보다 짧게 */
+    private final long lockSeconds;
+
+    // 같은 노드에서 cleanup() 을 직접 호출한 경우와 겹치지 않게 (스케줄 실행끼리는 Spring 이 겹치지 않게 함)
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private final Counter deletedRows;
+    private final Counter skippedRuns;
+    private volatile double lastRowsPerSecond;
+    private volatile double lagSeconds;
+
+    public QrcleanupJob(DynamicQRRepository repo,
+                        JobLockService jobLock,
+                        MeterRegistry registry,
+                        @Value("${app.qr.purge.batch-size:500}") int batchSize,
+                        @Value("${app.qr.purge.pause-ms:50}") long pauseMs,
+                        @Value("${app.qr.purge.grace-seconds:60}") long graceSeconds,
+                        @Value("${app.qr.purge.lock-seconds:240}") long lockSeconds) {
+        this.repo = repo;
+        this.jobLock = jobLock;
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMs = Math.max(0L, pauseMs);
+        this.graceSeconds = Math.max(0L, graceSeconds);
+        this.lockSeconds = Math.max(1L, lockSeconds);
+
+        this.deletedRows = Counter.builder("safetag.qr.purge.rows").register(registry);
+        this.skippedRuns = Counter.builder("safetag.qr.purge.skipped").register(registry);
+        Gauge.builder("safetag.qr.purge.rows.per.second", this, j -> j.lastRowsPerSecond).register(registry);
+        // 삭제 대상인데 아직 남아 있는 가장 오래된 QR 의 만료 후 경과 시간
+        Gauge.builder("safetag.qr.purge.lag.seconds", this, j -> j.lagSeconds).register(registry);
+    }
 
     // 5분마다 만료된 QR 청소
     @Scheduled(cron = "0 */5 * * * *")
-    @Transactional
     public void cleanup(){
-        int n = repo.deleteAllExpired(LocalDateTime.now().minusSeconds(60));
+        if (!running.compareAndSet(false, true)) {
+            skippedRuns.increment();
+            return;
+        }
+        try {
+            // 다른 노드가 purge 중이면 건너뜀
+            if (!jobLock.tryLock(LOCK_NAME, Duration.ofSeconds(lockSeconds))) {
+                skippedRuns.increment();
+                return;
+            }
+            try {
+                purge();
+            } finally {
+                jobLock.unlock(LOCK_NAME);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void purge() {
+        LocalDateTime cut = LocalDateTime.now().minusSeconds(graceSeconds);
+        Long minId = repo.findMinExpiredId(cut);
+        if (minId == null) {
+            lagSeconds = 0;
+            return;
+        }
+        Long maxId = repo.findMaxExpiredId(cut);
+
+        long started = System.nanoTime();
+        long total = 0;
+        // id 범위 단위로 끊어서 삭제 (청크마다 별도 트랜잭션)
+        // 상한은 maxId + 1 로 자름: 범위가 maxId 를 넘으면 InnoDB 가 supremum 까지 gap lock 을 잡아 새 QR insert 를 막음
+        for (long from = minId; from <= maxId; from += batchSize) {
+            long to = Math.min(from + batchSize, maxId + 1);
+            int n = repo.deleteExpiredInRange(from, to, cut);
+            total += n;
+            deletedRows.increment(n);
+
+            if (pauseMs > 0 && from + batchSize <= maxId) {
+                try {
+                    Thread.sleep(pauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        double elapsed = (System.nanoTime() - started) / 1_000_000_000.0;
+        lastRowsPerSecond = elapsed > 0 ? total / elapsed : total;
+
+        LocalDateTime oldest = repo.findOldestExpiredAt(cut);
+        lagSeconds = oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).getSeconds();
+
+        log.info("[QR] purge done rows={}, ids={}..{}, {} rows/s", total, minId, maxId,
+                String.format("%.1f", lastRowsPerSecond));
     }
 
 }
@@ -0,0 +1,108 @@
+package com.example.SafeTag_BE.push;
+
+import com.example.SafeTag_BE.repository.FcmTokenRepository;
+import com.example.SafeTag_BE.repository.UserRepository;
+import com.example.SafeTag_BE.store.OwnerTokenCache;
+import com.google.firebase.messaging.MessagingErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 전송 결과를 분류해서 죽은 토큰(UNREGISTERED, INVALID_ARGUMENT)을 정리.
+ * <p>
+ * 결과를 받는 즉시 차주별 토큰 캐시에서 빼고, DB 비활성화는 모아서 주기적으로
+ * 한 번의 update 로 처리한다.
+ */
+@Slf4j
+@Component
+public class DeadTokenPruner {
+
+    public enum Kind { OK, DEAD_TOKEN, TRANSIENT, FAILED }
+
+    private static final int UPDATE_CHUNK = 500;
+
+    private final FcmTokenRepository fcmTokenRepository;
+    private final UserRepository userRepository;
+    private final OwnerTokenCache ownerTokenCache;
+
+    // DB 반영 대기 중인 죽은 토큰 -> 소유자 (모르면 -1)
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+
+    private final Map<Kind, Counter> results = new EnumMap<>(Kind.class);
+    private final Counter pruned;
+
+    public DeadTokenPruner(PushDispatcher dispatcher,
+                           FcmTokenRepository fcmTokenRepository,
+                           UserRepository userRepository,
+                           OwnerTokenCache ownerTokenCache,
+                           MeterRegistry registry) {
+        this.fcmTokenRepository = fcmTokenRepository;
+        this.userRepository = userRepository;
+        this.ownerTokenCache = ownerTokenCache;
+
+        for (Kind k : Kind.values()) {
+            results.put(k, Counter.builder("safetag.push.result").tag("kind", k.name()).register(registry));
+        }
+        this.pruned = Counter.builder("safetag.push.tokens.pruned").register(registry);
+        Gauge.builder("safetag.push.tokens.prune.pending", pending, Map::size).register(registry);
+
+        dispatcher.addOutcomeListener(this::onOutcomes);
+    }
+
+    public static Kind classify(PushOutcome o) {
+        if (o.ok()) return Kind.OK;
+        if (o.errorCode() == MessagingErrorCode.UNREGISTERED
+                || o.errorCode() == MessagingErrorCode.INVALID_ARGUMENT) return Kind.DEAD_TOKEN;
+        return o.retryable() ? Kind.TRANSIENT : Kind.FAILED;
+    }
+
+    // 워커 스레드에서 호출됨
+    void onOutcomes(List<PushOutcome> outcomes) {
+        for (PushOutcome o : outcomes) {
+            Kind kind = classify(o);
+            results.get(kind).increment();
+            if (kind != Kind.DEAD_TOKEN) continue;
+
+            PushMessage m = o.message();
+            ownerTokenCache.removeToken(m.ownerId(), m.token());
+            pending.put(m.token(), m.ownerId() != null ? m.ownerId() : -1L);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.push.prune.flush-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+        List<String> tokens = new ArrayList<>();
+        for (String t : new ArrayList<>(pending.keySet())) {
+            Long owner = pending.remove(t);
+            if (owner == null) continue;
+            tokens.add(t);
+        }
+
+        try {
+            int n = 0;
+            for (int i = 0; i < tokens.size(); i += UPDATE_CHUNK) {
+                List<String> chunk = tokens.subList(i, Math.min(tokens.size(), i + UPDATE_CHUNK));
+                n += fcmTokenRepository.deactivateByTokenIn(chunk);
+                // users.fcm_token 에 남아 있는 같은 토큰도 비움
+                userRepository.clearFcmTokenIn(chunk);
+            }
+            pruned.increment(n);
+            log.info("[FCM] dead tokens deactivated={} (reported={})", n, tokens.size());
+        } catch (Exception e) {
+            // 다음 주기에 다시 시도
+            log.warn("[FCM] dead token prune failed: {}", e.toString());
+            tokens.forEach(t -> pending.putIfAbsent(t, -1L));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.SafeTag_BE.push;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.SendResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "app.push.transport", havingValue = "firebase", matchIfMissing = true)
+public class FirebasePushTransport implements PushTransport {
+
+    @Override
+    public List<PushOutcome> sendEach(List<PushMessage> batch) {
+        List<Message> messages = new ArrayList<>(batch.size());
+        for (PushMessage m : batch) {
+            messages.add(Message.builder().setToken(m.token()).putAllData(m.data()).build());
+        }
+
+        List<PushOutcome> out = new ArrayList<>(batch.size());
+        try {
+            BatchResponse res = FirebaseMessaging.getInstance().sendEach(messages);
+            List<SendResponse> rs = res.getResponses();
+            for (int i = 0; i < batch.size(); i++) {
+                SendResponse r = rs.get(i);
+                if (r.isSuccessful()) {
+                    out.add(PushOutcome.success(batch.get(i), r.getMessageId()));
+                } else {
+                    FirebaseMessagingException e = r.getException();
+                    out.add(PushOutcome.failure(batch.get(i), e.getMessagingErrorCode(), e));
+                }
+            }
+        } catch (FirebaseMessagingException e) {
+            // 배치 전체 실패
+            for (PushMessage m : batch) out.add(PushOutcome.failure(m, e.getMessagingErrorCode(), e));
+        } catch (IllegalStateException e) {
+            // FirebaseApp 미초기화: 재시도해도 소용없음
+            for (PushMessage m : batch) out.add(new PushOutcome(m, null, null, e, false));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.SafeTag_BE.push;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 비동기 푸시 발송기.
+ * <p>
+ * 요청 스레드는 {@link #submit} 으로 큐에 넣고 바로 돌아간다. 워커는 큐에 쌓인 메시지를
+ * 최대 500건씩 꺼내 sendEach 한 번으로 보내고, 일시적 오류는 지수 백오프 + jitter 로
+ * 다시 큐에 넣는다. 큐가 가득 차면 submit 은 false 를 반환한다 (호출자는 기다리지 않음).
+ */
+@Slf4j
+@Component
+public class PushDispatcher {
+
+    // FCM sendEach 한 번에 보낼 수 있는 최대 메시지 수
+    private static final int MAX_BATCH = 500;
+
+    private final PushTransport transport;
+    private final BlockingQueue<PushMessage> queue;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retryTimer;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private volatile boolean running = true;
+    // 배치 전송 결과를 받는 곳 (죽은 토큰 정리 등)
+    private final List<Consumer<List<PushOutcome>>> listeners = new CopyOnWriteArrayList<>();
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter retryDropped;
+    private final DistributionSummary batchSize;
+    private final Timer sendLatency;
+
+    public PushDispatcher(PushTransport transport,
+                          MeterRegistry registry,
+                          @Value("${app.push.queue-capacity:10000}") int capacity,
+                          @Value("${app.push.workers:2}") int workerCount,
+                          @Value("${app.push.max-attempts:4}") int maxAttempts,
+                          @Value("${app.push.backoff-ms:500}") long backoffMs) {
+        this.transport = transport;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = Math.max(1L, backoffMs);
+
+        this.accepted = Counter.builder("safetag.push.submitted").tag("result", "accepted").register(registry);
+        this.rejected = Counter.builder("safetag.push.submitted").tag("result", "rejected").register(registry);
+        this.sent = Counter.builder("safetag.push.sent").tag("result", "ok").register(registry);
+        this.failed = Counter.builder("safetag.push.sent").tag("result", "failed").register(registry);
+        this.retried = Counter.builder("safetag.push.retried").register(registry);
+        // 재시도 시점에 큐가 가득 차서 버린 메시지 (신규 제출 거절과 구분)
+        this.retryDropped = Counter.builder("safetag.push.retry").tag("result", "dropped").register(registry);
+        this.batchSize = DistributionSummary.builder("safetag.push.batch.size").register(registry);
+        this.sendLatency = Timer.builder("safetag.push.send.latency").register(registry);
+        Gauge.builder("safetag.push.queue.depth", queue, BlockingQueue::size).register(registry);
+        Gauge.builder("safetag.push.queue.remaining", queue, BlockingQueue::remainingCapacity).register(registry);
+
+        AtomicInteger seq = new AtomicInteger();
+        int n = Math.max(1, workerCount);
+        this.workers = Executors.newFixedThreadPool(n, r -> {
+            Thread t = new Thread(r, "push-worker-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.retryTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "push-retry");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < n; i++) workers.execute(this::runWorker);
+    }
+
+    public void addOutcomeListener(Consumer<List<PushOutcome>> listener) {
+        listeners.add(listener);
+    }
+
+    /** 큐에 넣고 즉시 반환. 큐가 가득 찼으면 false */
+    public boolean submit(PushMessage message) {
+        if (!running || message == null || message.token() == null || message.token().isBlank()) return false;
+        if (queue.offer(message)) {
+            accepted.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    private void runWorker() {
+        List<PushMessage> batch = new ArrayList<>(MAX_BATCH);
+        while (running) {
+            try {
+                PushMessage first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                // 그 사이 쌓인 메시지를 한 번에 (대기 없이 있는 만큼만)
+                queue.drainTo(batch, MAX_BATCH - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("[FCM] push worker error: {}", e.toString());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<PushMessage> batch) {
+        batchSize.record(batch.size());
+        long started = System.nanoTime();
+        List<PushOutcome> outcomes;
+        try {
+            outcomes = transport.sendEach(batch);
+        } catch (RuntimeException e) {
+            outcomes = new ArrayList<>(batch.size());
+            for (PushMessage m : batch) outcomes.add(PushOutcome.failure(m, null, e));
+        }
+        sendLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        for (PushOutcome o : outcomes) {
+            if (o.ok()) {
+                sent.increment();
+            } else if (o.retryable() && o.message().attempt() + 1 < maxAttempts) {
+                scheduleRetry(o.message());
+            } else {
+                failed.increment();
+                log.debug("[FCM] push failed code={} err={}", o.errorCode(), String.valueOf(o.error()));
+            }
+        }
+        for (Consumer<List<PushOutcome>> l : listeners) {
+            try {
+                l.accept(outcomes);
+            } catch (Exception e) {
+                log.warn("[FCM] outcome listener error: {}", e.toString());
+            }
+        }
+    }
+
+    // full jitter: 0 ~ backoff * 2^attempt
+    private void scheduleRetry(PushMessage m) {
+        retried.increment();
+        long cap = backoffMs << Math.min(m.attempt(), 10);
+        long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+        retryTimer.schedule(() -> {
+            if (!queue.offer(m.nextAttempt())) retryDropped.increment();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        retryTimer.shutdownNow();
+        workers.shutdown();
+        try {
+            workers.awaitTermination(3, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
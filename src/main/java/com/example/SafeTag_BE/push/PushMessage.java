@@ -0,0 +1,20 @@
+package com.example.SafeTag_BE.push;
+
+import java.util.Map;
+
+/**
+ * 단일 토큰으로 보낼 data 푸시 하나.
+ *
+ * @param ownerId 토큰 소유자 (없으면 null)
+ * @param attempt 재시도 횟수 (첫 전송 0)
+ */
+public record PushMessage(Long ownerId, String token, Map<String, String> data, int attempt) {
+
+    public static PushMessage of(Long ownerId, String token, Map<String, String> data) {
+        return new PushMessage(ownerId, token, data, 0);
+    }
+
+    public PushMessage nextAttempt() {
+        return new PushMessage(ownerId, token, data, attempt + 1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.SafeTag_BE.push;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+
+/**
+ * 메시지 한 건의 전송 결과.
+ *
+ * @param errorCode FCM 오류 코드 (성공이거나 알 수 없으면 null)
+ * @param retryable 일시적 오류라 다시 보내볼 만한지
+ */
+public record PushOutcome(PushMessage message, String messageId, MessagingErrorCode errorCode,
+                          Exception error, boolean retryable) {
+
+    public static PushOutcome success(PushMessage message, String messageId) {
+        return new PushOutcome(message, messageId, null, null, false);
+    }
+
+    public static PushOutcome failure(PushMessage message, MessagingErrorCode code, Exception error) {
+        return new PushOutcome(message, null, code, error, isRetryable(code));
+    }
+
+    public boolean ok() {
+        return error == null && errorCode == null;
+    }
+
+    // 코드가 없으면(네트워크 오류 등) 일시적 오류로 봄
+    private static boolean isRetryable(MessagingErrorCode code) {
+        return code == null
+                || code == MessagingErrorCode.UNAVAILABLE
+                || code == MessagingErrorCode.INTERNAL
+                || code == MessagingErrorCode.QUOTA_EXCEEDED;
+    }
+}
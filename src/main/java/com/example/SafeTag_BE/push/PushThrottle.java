@@ -0,0 +1,93 @@
+package com.example.SafeTag_BE.push;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 반복 스캔 푸시 억제.
+ * <ul>
+ *   <li>(ownerId, qrId) 별 억제 구간: 마지막 발송 후 dedup-window 동안은 다시 보내지 않음</li>
+ *   <li>차주별 토큰 버킷: capacity 만큼 몰아서 보낼 수 있고 분당 per-minute 개씩 충전</li>
+ * </ul>
+ * 둘 다 키마다 AtomicLong 하나를 CAS 로 갱신한다 (락 없음).
+ * 토큰 버킷은 GCRA 형태로, 값은 "다음 토큰이 온전히 찰 이론상 시각(ms)" 이다.
+ */
+@Component
+public class PushThrottle {
+
+    public enum Decision { SEND, DUPLICATE, RATE_LIMITED }
+
+    private record Key(Long ownerId, Long qrId) {}
+
+    private final long windowMs;
+    private final long intervalMs;   // 토큰 1개 충전 간격
+    private final long burstMs;      // capacity 개 만큼의 허용 폭
+
+    private final Map<Key, AtomicLong> lastSent = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<Decision, Counter> decisions = new EnumMap<>(Decision.class);
+
+    public PushThrottle(MeterRegistry registry,
+                        @Value("${app.push.dedup-window-seconds:30}") long windowSeconds,
+                        @Value("${app.push.rate.capacity:5}") int capacity,
+                        @Value("${app.push.rate.per-minute:10}") int perMinute) {
+        this.windowMs = Math.max(0L, windowSeconds) * 1000L;
+        this.intervalMs = 60_000L / Math.max(1, perMinute);
+        this.burstMs = intervalMs * Math.max(1, capacity);
+        for (Decision d : Decision.values()) {
+            decisions.put(d, Counter.builder("safetag.push.throttle")
+                    .tag("decision", d.name()).register(registry));
+        }
+    }
+
+    public Decision tryAcquire(Long ownerId, Long qrId) {
+        long now = System.currentTimeMillis();
+
+        // 1) 같은 차량/QR 중복 억제
+        AtomicLong last = lastSent.computeIfAbsent(new Key(ownerId, qrId), k -> new AtomicLong(Long.MIN_VALUE));
+        long prev;
+        do {
+            prev = last.get();
+            if (prev != Long.MIN_VALUE && now - prev < windowMs) return count(Decision.DUPLICATE);
+        } while (!last.compareAndSet(prev, now));
+
+        // 2) 차주별 속도 제한
+        if (!takeToken(ownerId, now)) {
+            // 보내지 않았으니 억제 구간 표시를 되돌림
+            last.compareAndSet(now, prev);
+            return count(Decision.RATE_LIMITED);
+        }
+        return count(Decision.SEND);
+    }
+
+    private boolean takeToken(Long ownerId, long now) {
+        AtomicLong tat = buckets.computeIfAbsent(ownerId, k -> new AtomicLong(0L));
+        while (true) {
+            long cur = tat.get();
+            long next = Math.max(cur, now) + intervalMs;
+            if (next - now > burstMs) return false;
+            if (tat.compareAndSet(cur, next)) return true;
+        }
+    }
+
+    private Decision count(Decision d) {
+        decisions.get(d).increment();
+        return d;
+    }
+
+    // 만료된 키 정리
+    @Scheduled(fixedDelayString = "${app.push.throttle.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        lastSent.values().removeIf(a -> now - a.get() >= windowMs);
+        buckets.values().removeIf(a -> a.get() <= now);
+    }
+}
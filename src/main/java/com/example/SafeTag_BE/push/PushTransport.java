@@ -0,0 +1,10 @@
+package com.example.SafeTag_BE.push;
+
+import java.util.List;
+
+/** FCM 전송 계층. 실제 FirebaseMessaging 과 오프라인용 stand-in 구현이 있다. */
+public interface PushTransport {
+
+    /** batch 순서 그대로 결과를 돌려준다 (최대 500건) */
+    List<PushOutcome> sendEach(List<PushMessage> batch);
+}
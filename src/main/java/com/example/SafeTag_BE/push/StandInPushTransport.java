@@ -0,0 +1,64 @@
+package com.example.SafeTag_BE.push;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 오프라인/로컬용 전송 (app.push.transport=stand-in).
+ * 실제로 보내지 않고 최근 메시지를 보관하며, 토큰 prefix 로 오류를 흉내낸다.
+ * <ul>
+ *   <li>"unregistered:" -> UNREGISTERED</li>
+ *   <li>"invalid:" -> INVALID_ARGUMENT</li>
+ *   <li>"unavailable:" -> UNAVAILABLE (재시도 대상)</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.push.transport", havingValue = "stand-in")
+public class StandInPushTransport implements PushTransport {
+
+    private static final int KEEP = 1000;
+
+    private final Deque<PushMessage> sent = new ConcurrentLinkedDeque<>();
+    // ConcurrentLinkedDeque.size() 는 O(n) 이라 크기는 따로 센다
+    private final AtomicInteger size = new AtomicInteger();
+
+    @Override
+    public List<PushOutcome> sendEach(List<PushMessage> batch) {
+        List<PushOutcome> out = new ArrayList<>(batch.size());
+        for (PushMessage m : batch) {
+            MessagingErrorCode code = simulatedError(m.token());
+            if (code != null) {
+                out.add(PushOutcome.failure(m, code, new IllegalStateException("stand-in " + code)));
+                continue;
+            }
+            sent.addLast(m);
+            if (size.incrementAndGet() > KEEP && sent.pollFirst() != null) size.decrementAndGet();
+            out.add(PushOutcome.success(m, "stand-in/" + UUID.randomUUID()));
+        }
+        log.debug("[FCM] stand-in batch size={}", batch.size());
+        return out;
+    }
+
+    /** 최근 보낸 메시지 (오래된 순) */
+    public List<PushMessage> sent() {
+        return new ArrayList<>(sent);
+    }
+
+    private MessagingErrorCode simulatedError(String token) {
+        if (token == null) return MessagingErrorCode.INVALID_ARGUMENT;
+        if (token.startsWith("unregistered:")) return MessagingErrorCode.UNREGISTERED;
+        if (token.startsWith("invalid:")) return MessagingErrorCode.INVALID_ARGUMENT;
+        if (token.startsWith("unavailable:")) return MessagingErrorCode.UNAVAILABLE;
+        return null;
+    }
+}
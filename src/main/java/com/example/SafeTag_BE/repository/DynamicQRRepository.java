@@ -9,12 +9,31 @@ import java.util.Optional;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface DynamicQRRepository extends JpaRepository<DynamicQR, Long> {
     Optional<DynamicQR> findByQrValue(String qrValue);
+
+    // 스캔 경로용: User 까지 한 번에 로딩
+    @Query("select q from DynamicQR q join fetch q.user where q.qrValue = :qrValue")
+    Optional<DynamicQR> findWithUserByQrValue(@Param("qrValue") String qrValue);
+
     Optional<DynamicQR> findTop1ByUserOrderByGeneratedAtDesc(User user);
 
+
+    // ===== 만료 QR 청크 삭제용 =====
+    @Query("select min(q.id) from DynamicQR q where q.expiredAt < :cut")
+    Long findMinExpiredId(@Param("cut") LocalDateTime cut);
+
+    @Query("select max(q.id) from DynamicQR q where q.expiredAt < :cut")
+    Long findMaxExpiredId(@Param("cut") LocalDateTime cut);
+
+    @Query("select min(q.expiredAt) from DynamicQR q where q.expiredAt < :cut")
+    LocalDateTime findOldestExpiredAt(@Param("cut") LocalDateTime cut);
+
+    // 청크마다 별도 트랜잭션으로 짧게 커밋
+    @Transactional
     @Modifying
-    @Query("delete from DynamicQR q where q.expiredAt < :cut")
-    int deleteAllExpired(@Param("cut") LocalDateTime cut);
+    @Query("delete from DynamicQR q where q.id >= :fromId and q.id < :toId and q.expiredAt < :cut")
+    int deleteExpiredInRange(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("cut") LocalDateTime cut);
 }
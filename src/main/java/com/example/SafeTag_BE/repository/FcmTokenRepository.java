@@ -2,12 +2,26 @@ package com.example.SafeTag_BE.repository;
 
 
 import com.example.SafeTag_BE.entity.FcmToken;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface FcmTokenRepository extends JpaRepository<FcmToken, Long> {
     List<FcmToken> findAllByUserIdAndActiveTrue(Long userId);
     Optional<FcmToken> findByToken(String token);
 
+    @Query("select t.token from FcmToken t where t.user.id = :userId and t.active = true")
+    List<String> findActiveTokensByUserId(@Param("userId") Long userId);
+
+    // FCM 이 죽은 토큰으로 응답한 토큰 일괄 비활성화
+    @Transactional
+    @Modifying
+    @Query("update FcmToken t set t.active = false where t.active = true and t.token in :tokens")
+    int deactivateByTokenIn(@Param("tokens") Collection<String> tokens);
+
 }
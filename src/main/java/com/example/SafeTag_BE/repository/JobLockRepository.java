@@ -0,0 +1,32 @@
+package com.example.SafeTag_BE.repository;
+
+import com.example.SafeTag_BE.entity.JobLock;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // 처음 쓰는 잠금이면 만료된 상태로 행을 만들어 둠 (이미 있으면 무시)
+    @Transactional
+    @Modifying
+    @Query(value = "insert ignore into job_lock (name, locked_until, locked_by) values (:name, :until, null)",
+            nativeQuery = true)
+    int createIfAbsent(@Param("name") String name, @Param("until") Instant until);
+
+    // 만료된 잠금만 가져감. 1 이면 획득
+    @Transactional
+    @Modifying
+    @Query("update JobLock l set l.lockedUntil = :until, l.lockedBy = :by where l.name = :name and l.lockedUntil <= :now")
+    int tryAcquire(@Param("name") String name, @Param("until") Instant until,
+                   @Param("by") String by, @Param("now") Instant now);
+
+    // 내가 잡은 잠금만 바로 풀어 줌
+    @Transactional
+    @Modifying
+    @Query("update JobLock l set l.lockedUntil = :now where l.name = :name and l.lockedBy = :by")
+    int release(@Param("name") String name, @Param("by") String by, @Param("now") Instant now);
+}
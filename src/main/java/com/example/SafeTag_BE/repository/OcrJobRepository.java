@@ -0,0 +1,61 @@
+package com.example.SafeTag_BE.repository;
+
+import com.example.SafeTag_BE.entity.OcrJob;
+import com.example.SafeTag_BE.entity.OcrJobStatus;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OcrJobRepository extends JpaRepository<OcrJob, Long> {
+
+    // 처리할 차례인 작업 + 임대가 끝난 RUNNING 작업. 다른 노드가 잡고 있는 행은 건너뜀 (MySQL 8)
+    @Query(value = """
+            select * from ocr_job
+            where (status = 'PENDING' and next_attempt_at <= :now)
+               or (status = 'RUNNING' and locked_until < :now)
+            order by next_attempt_at
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<OcrJob> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    // 아래 update 들은 모두 attempts 로 펜싱: 임대가 만료돼 다른 곳에서 다시 가져간 작업은 건드리지 않음
+    @Modifying
+    @Query("""
+            update OcrJob j set j.status = :status, j.lockedUntil = null, j.lastError = :error, j.finishedAt = :now
+            where j.id = :id and j.status = com.example.SafeTag_BE.entity.OcrJobStatus.RUNNING and j.attempts = :attempt
+            """)
+    int finish(@Param("id") Long id, @Param("attempt") int attempt, @Param("status") OcrJobStatus status,
+               @Param("error") String error, @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            update OcrJob j set j.status = com.example.SafeTag_BE.entity.OcrJobStatus.PENDING,
+                j.lockedUntil = null, j.nextAttemptAt = :next, j.lastError = :error
+            where j.id = :id and j.status = com.example.SafeTag_BE.entity.OcrJobStatus.RUNNING and j.attempts = :attempt
+            """)
+    int reschedule(@Param("id") Long id, @Param("attempt") int attempt,
+                   @Param("next") Instant next, @Param("error") String error);
+
+    // 실제로 처리를 시작할 때 임대 갱신 (큐 대기 시간이 임대를 갉아먹지 않도록)
+    @Modifying
+    @Query("""
+            update OcrJob j set j.lockedUntil = :until
+            where j.id = :id and j.status = com.example.SafeTag_BE.entity.OcrJobStatus.RUNNING and j.attempts = :attempt
+            """)
+    int startLease(@Param("id") Long id, @Param("attempt") int attempt, @Param("until") Instant until);
+
+    // 풀에 넣지 못한 작업 되돌리기 (시도 횟수 차감)
+    @Modifying
+    @Query("""
+            update OcrJob j set j.status = com.example.SafeTag_BE.entity.OcrJobStatus.PENDING,
+                j.lockedUntil = null, j.attempts = j.attempts - 1
+            where j.id = :id and j.status = com.example.SafeTag_BE.entity.OcrJobStatus.RUNNING and j.attempts = :attempt
+            """)
+    int release(@Param("id") Long id, @Param("attempt") int attempt);
+
+    long countByStatus(OcrJobStatus status);
+}
@@ -2,9 +2,28 @@ package com.example.SafeTag_BE.repository;
 
 import com.example.SafeTag_BE.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 	Optional<User> findByUsername(String username);
+
+	@Query("select u.fcmToken from User u where u.id = :id")
+	String findFcmTokenById(@Param("id") Long id);
+
+	// 죽은 FCM 토큰 정리
+	@Transactional
+	@Modifying
+	@Query("update User u set u.fcmToken = null where u.fcmToken in :tokens")
+	int clearFcmTokenIn(@Param("tokens") Collection<String> tokens);
+
+	// 토큰이 다른 차주로 옮겨갈 때 이전 차주의 예전 컬럼 값 정리
+	@Modifying
+	@Query("update User u set u.fcmToken = null where u.fcmToken = :token and u.id <> :ownerId")
+	int clearFcmTokenOfOthers(@Param("token") String token, @Param("ownerId") Long ownerId);
 }
@@ -121,6 +121,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -141,21 +142,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserSecurityService userSecurityService;
+    private final PublicRoutes publicRoutes;
+
+    /** true 면 토큰 클레임만으로 인증 (계정 조회 생략) */
+    @Value("${app.security.claims-only:false}")
+    private boolean claimsOnly;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
-        String uri = request.getRequestURI();
-        return uri.startsWith("/v3/api-docs")
-                || uri.startsWith("/swagger-ui")
-                || uri.startsWith("/swagger-ui.html")
-                || uri.startsWith("/h2-console")
-                || uri.startsWith("/api/auth")     // 로그인/회원가입 공개
-                || uri.startsWith("/api/qrs")
-                || uri.startsWith("/api/chat")
-                || uri.startsWith("/api/calls")
-                || uri.startsWith("/api/ice-config")
-                || uri.startsWith("/ws")
-                || "OPTIONS".equalsIgnoreCase(request.getMethod());
+        // 공개 경로 목록은 PublicRouteProperties 한 곳에서 관리
+        return "OPTIONS".equalsIgnoreCase(request.getMethod())
+                || publicRoutes.isAnonymous(request.getRequestURI());
     }
 
     @Override
@@ -172,13 +169,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 String token = header.substring(7);
                 log.debug("[JWT] token.prefix={}", token.length() > 12 ? token.substring(0, 12) : token);
 
-                if (jwtTokenProvider.validateToken(token)) {
-                    Long userId = jwtTokenProvider.getUserIdFromToken(token);
-                    String role = jwtTokenProvider.getRoleFromToken(token);
-                    String uname = jwtTokenProvider.getUsernameFromToken(token);
+                // 서명 검증/클레임 추출은 한 번만
+                JwtClaims claims = jwtTokenProvider.parseOrNull(token);
+                if (claims != null) {
+                    Long userId = claims.userId();
+                    String role = claims.role();
+                    String uname = claims.username();
                     log.debug("[JWT] validated userId={}, role={}, uname={}", userId, role, uname);
 
-                    UserDetails delegate = userSecurityService.loadUserById(userId);
+                    UserDetails delegate = claimsOnly
+                            ? claimsDelegate(userId, uname, role)
+                            : userSecurityService.loadUserById(userId);
                     var principal = new AuthPrincipal(userId, (uname != null ? uname : delegate.getUsername()), role, delegate);
 
                     var authToken = new UsernamePasswordAuthenticationToken(
@@ -205,6 +206,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // DB 없이 클레임으로만 구성한 delegate (비밀번호 없음)
+    private static UserDetails claimsDelegate(Long userId, String uname, String role) {
+        String name = (uname != null && !uname.isBlank()) ? uname : String.valueOf(userId);
+        return new org.springframework.security.core.userdetails.User(
+                name, "", List.of(new SimpleGrantedAuthority(role))
+        );
+    }
+
     private static final class AuthPrincipal implements org.springframework.security.core.userdetails.UserDetails {
         private final Long id;
         private final String username;
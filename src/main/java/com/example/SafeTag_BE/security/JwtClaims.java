@@ -0,0 +1,9 @@
+package com.example.SafeTag_BE.security;
+
+/** 한 번 파싱한 JWT 클레임 (필터/컨트롤러에서 재파싱 없이 사용) */
+public record JwtClaims(
+        Long userId,
+        String role,
+        String username,
+        long expiresAtMillis
+) {}
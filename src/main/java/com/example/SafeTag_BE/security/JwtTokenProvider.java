@@ -1,11 +1,19 @@
 package com.example.SafeTag_BE.security;
 
+import com.example.SafeTag_BE.store.ExpiringStore;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 
 @Slf4j
@@ -17,6 +25,29 @@ public class JwtTokenProvider {
 
     private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
 
+    // 파서는 불변/스레드 안전하므로 하나만 만들어 재사용
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    // 토큰 다이제스트 -> 클레임 (exp 까지만 보관)
+    private final ExpiringStore<String, JwtClaims> claimsCache = ExpiringStore.create("jwt-claims");
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    /** 검증된 클레임 캐시 사용 여부 */
+    @Value("${app.jwt.claims-cache.enabled:false}")
+    private boolean cacheEnabled;
+
+    @Value("${app.jwt.claims-cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
     //JWT 생성
     public String generateToken(Long id, String role, String username) {
         Claims claims = Jwts.claims().setSubject(String.valueOf(id));
@@ -34,53 +65,77 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    //JWT 유효성 검증
-    public boolean validateToken(String token) {
+    /**
+     * 서명 검증 + 클레임 추출을 한 번에 수행.
+     * 유효하지 않으면 JwtException 계열 예외를 그대로 던진다.
+     */
+    public JwtClaims parse(String token) {
+        String digest = null;
+        if (cacheEnabled) {
+            digest = digest(token);
+            JwtClaims cached = claimsCache.get(digest);
+            if (cached != null) return cached;
+        }
+
+        Claims body = parser.parseClaimsJws(token).getBody();
+        Date exp = body.getExpiration();
+        JwtClaims claims = new JwtClaims(
+                Long.parseLong(body.getSubject()),
+                body.get("role", String.class),      // "ROLE_USER" or "ROLE_ADMIN"
+                body.get("username", String.class),
+                exp != null ? exp.getTime() : Long.MAX_VALUE
+        );
+
+        if (cacheEnabled && exp != null && claimsCache.size() < cacheMaxEntries) {
+            claimsCache.put(digest, claims, Instant.ofEpochMilli(claims.expiresAtMillis()));
+        }
+        return claims;
+    }
+
+    /** 유효하면 클레임, 아니면 사유를 로그로 남기고 null */
+    public JwtClaims parseOrNull(String token) {
         try {
-            getParser().parseClaimsJws(token);
-            return true;
+            return parse(token);
         } catch (ExpiredJwtException e) {
             log.warn("JWT expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             log.warn("Unsupported JWT: {}", e.getMessage());
         } catch (MalformedJwtException e) {
             log.warn("Malformed JWT: {}", e.getMessage());
-        } catch (SecurityException | IllegalArgumentException e) {
+        } catch (JwtException | IllegalArgumentException e) {
+            // 서명 불일치(io.jsonwebtoken.security.SignatureException) 등 나머지 jjwt 예외
             log.warn("Invalid JWT signature or claims: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    //JWT 유효성 검증
+    public boolean validateToken(String token) {
+        return parseOrNull(token) != null;
     }
 
     //JWT에서 사용자 ID(회원번호)추출
     public Long getUserIdFromToken(String token) {
-        String subject = getParser()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-
-        return Long.parseLong(subject);
+        return parse(token).userId();
     }
 
     //JWT에서 역할 추출
     public String getRoleFromToken(String token) {
-        return getParser()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("role", String.class); // "ROLE_USER" or "ROLE_ADMIN"
+        return parse(token).role(); // "ROLE_USER" or "ROLE_ADMIN"
+    }
+
+    public String getUsernameFromToken(String token) {
+        return parse(token).username();
     }
 
-    //공통 ParserBuilder
-    private JwtParser getParser() {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build();
+    @PreDestroy
+    void close() {
+        claimsCache.close();
     }
 
-    public String getUsernameFromToken(String token) {
-        return getParser()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("username", String.class);
+    private static String digest(String token) {
+        byte[] d = SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(d);
     }
 
 }
@@ -0,0 +1,108 @@
+package com.example.SafeTag_BE.security;
+
+import com.example.SafeTag_BE.config.PublicRouteProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 공개 경로 테이블을 기동 시 prefix trie 로 컴파일해 두고,
+ * 요청 경로를 경로 길이에 비례하는 시간에 분류한다.
+ */
+@Component
+public class PublicRoutes {
+
+    public enum Access {
+        /** 필터 생략 + permitAll */
+        ANONYMOUS,
+        /** 필터 적용 + permitAll */
+        OPTIONAL_AUTH
+    }
+
+    private static final String WILDCARD = "/**";
+
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] kids = new Node[0];
+        Access exact;   // 경로가 여기서 끝날 때
+        Access prefix;  // 여기서 끝나거나 '/' 로 이어질 때
+
+        Node child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) return kids[i];
+            }
+            return null;
+        }
+
+        Node childOrCreate(char c) {
+            Node n = child(c);
+            if (n != null) return n;
+            n = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            kids = Arrays.copyOf(kids, kids.length + 1);
+            keys[keys.length - 1] = c;
+            kids[kids.length - 1] = n;
+            return n;
+        }
+    }
+
+    private final Node root = new Node();
+    private final String[] permitAllPatterns;
+
+    public PublicRoutes(PublicRouteProperties props) {
+        List<String> all = new ArrayList<>();
+        for (String p : props.getAnonymous()) {
+            add(p, Access.ANONYMOUS);
+            all.add(p);
+        }
+        for (String p : props.getOptionalAuth()) {
+            add(p, Access.OPTIONAL_AUTH);
+            all.add(p);
+        }
+        this.permitAllPatterns = all.toArray(String[]::new);
+    }
+
+    /** SecurityConfig 의 permitAll 대상 */
+    public String[] permitAllPatterns() {
+        return permitAllPatterns.clone();
+    }
+
+    /** 공개 경로가 아니면 null */
+    public Access classify(String path) {
+        if (path == null) return null;
+        Node node = root;
+        Access matched = null;
+        int len = path.length();
+        for (int i = 0; ; i++) {
+            // 가장 긴 prefix 우선
+            if (node.prefix != null && (i == len || path.charAt(i) == '/')) matched = node.prefix;
+            if (i == len) return node.exact != null ? node.exact : matched;
+            node = node.child(path.charAt(i));
+            if (node == null) return matched;
+        }
+    }
+
+    public boolean isAnonymous(String path) {
+        return classify(path) == Access.ANONYMOUS;
+    }
+
+    private void add(String pattern, Access access) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("public route must start with '/': " + pattern);
+        }
+        boolean prefix = pattern.endsWith(WILDCARD);
+        String path = prefix ? pattern.substring(0, pattern.length() - WILDCARD.length()) : pattern;
+        if (path.contains("*")) {
+            throw new IllegalArgumentException("only exact paths or '/**' suffix are supported: " + pattern);
+        }
+
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.childOrCreate(path.charAt(i));
+        }
+        if (prefix) node.prefix = access;
+        else node.exact = access;
+    }
+}
@@ -177,6 +177,7 @@ import java.util.List;
 public class SecurityConfig {
 
 	private final JwtAuthenticationFilter jwtAuthenticationFilter;
+	private final PublicRoutes publicRoutes;
 
 	@Bean
 	SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -188,24 +189,8 @@ public class SecurityConfig {
 						// Preflight
 						.requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll()
 
-						// 문서/개발 도구
-						.requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-						.requestMatchers("/h2-console/**", "/error").permitAll()
-
-						// 공개 인증/회원 경로
-						.requestMatchers("/api/auth/**", "/api/user/signup", "/api/admin/signup").permitAll()
-
-						// 기존 공개 엔드포인트
-						.requestMatchers("/api/relay/**", "/c/**", "/voice/**", "/actuator/health").permitAll()
-
-						// QR/Chat 공개
-						.requestMatchers("/api/qrs/**", "/api/chat/**").permitAll()
-
-						// WebRTC
-						.requestMatchers("/api/calls/**", "/api/ice-config").permitAll()
-
-						// WebSocket
-						.requestMatchers("/ws/**").permitAll()
+						// 공개 경로 (PublicRouteProperties 에서 관리, JWT 필터와 공용)
+						.requestMatchers(publicRoutes.permitAllPatterns()).permitAll()
 
 						// 스티커 발급: 인증 필요
 						.requestMatchers(org.springframework.http.HttpMethod.POST, "/api/sticker/issue").authenticated()
@@ -16,6 +16,7 @@ public class AdminService {
 
     private final AdminRepository adminRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserSecurityService userSecurityService;
 
     // 회원가입
     public Admin create(String name, String username, String password,
@@ -30,7 +31,9 @@ public class AdminService {
         admin.setGender(gender);
         admin.setCompany(company);
         //admin.setRole(RoleConstants.ROLE_ADMIN); // 권한 설정
-        return adminRepository.save(admin);
+        Admin saved = adminRepository.save(admin);
+        userSecurityService.evict(saved.getId());
+        return saved;
     }
 
     // 관리자 ID(고유번호)로 조회
@@ -58,7 +61,9 @@ public class AdminService {
         admin.setBirthDate(birthDate);
         admin.setGender(gender);
         admin.setCompany(company);
-        return adminRepository.save(admin);
+        Admin saved = adminRepository.save(admin);
+        userSecurityService.evict(id);
+        return saved;
     }
 
     // 로그인
@@ -77,6 +82,7 @@ public class AdminService {
     public void deleteAdmin(Long id) {
         Admin admin = getAdmin(id); // 존재하지 않으면 예외 발생
         adminRepository.delete(admin);
+        userSecurityService.evict(id);
     }
 
 }
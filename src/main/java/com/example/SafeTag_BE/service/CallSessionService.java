@@ -10,6 +10,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -77,4 +80,35 @@ public class CallSessionService {
                     callSessionRepository.save(s);
                 });
     }
+
+    /**
+     * 시그널링에서 모은 상태 전이를 한 번에 반영.
+     * 이미 종료(ENDED/FAILED)된 세션이나 뒤로 가는 전이는 무시한다.
+     */
+    @Transactional
+    public void applyStates(Map<String, CallState> states) {
+        if (states.isEmpty()) return;
+        Instant now = Instant.now();
+        for (CallSession s : callSessionRepository.findBySessionUuidIn(states.keySet())) {
+            CallState next = states.get(s.getSessionUuid());
+            CallState cur = s.getState();
+            if (next == null || isTerminal(cur) || (cur != null && next.ordinal() < cur.ordinal())) continue;
+            s.setState(next);
+            if (isTerminal(next)) s.setEndedAt(now);
+        }
+    }
+
+    /** sessionUuid -> expiresAt (없는 세션은 빠짐) */
+    public Map<String, Instant> findExpiresAt(Collection<String> sessionUuids) {
+        Map<String, Instant> out = new HashMap<>();
+        if (sessionUuids.isEmpty()) return out;
+        for (CallSession s : callSessionRepository.findBySessionUuidIn(sessionUuids)) {
+            if (s.getExpiresAt() != null) out.put(s.getSessionUuid(), s.getExpiresAt());
+        }
+        return out;
+    }
+
+    public static boolean isTerminal(CallState state) {
+        return state == CallState.ENDED || state == CallState.FAILED;
+    }
 }
@@ -1,5 +1,7 @@
 package com.example.SafeTag_BE.service;
 
+import com.example.SafeTag_BE.push.PushDispatcher;
+import com.example.SafeTag_BE.push.PushMessage;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
@@ -7,11 +9,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FcmService {
 
+    private final PushDispatcher pushDispatcher;
+
     public String sendToToken(String token, String title, String body, String sessionId)
             throws FirebaseMessagingException {
 
@@ -31,11 +38,24 @@ public class FcmService {
         return id;
     }
 
-    // 익명 통화 요청
-    public String sendCallRequest(String token, String ownerName, String sessionId)
-            throws FirebaseMessagingException {
+    // 차주의 여러 기기에 익명 통화 요청 (비동기 발송 큐에 등록). 큐에 들어간 건수 반환
+    public int sendCallRequest(Long ownerId, Collection<String> tokens, String ownerName, String sessionId) {
+        Map<String, String> data = callRequestData(ownerName, sessionId);
+        int queued = 0;
+        for (String token : tokens) {
+            if (pushDispatcher.submit(PushMessage.of(ownerId, token, data))) queued++;
+        }
+        return queued;
+    }
+
+    private Map<String, String> callRequestData(String ownerName, String sessionId) {
         String title = "SafeTag · 익명 통화 요청";
         String body  = "상대방이 " + (ownerName == null ? "차주" : ownerName) + "님과 통화를 요청했습니다.";
-        return sendToToken(token, title, body, sessionId);
+        return Map.of(
+                "type", "CALL_REQUEST",
+                "sessionId", sessionId == null ? "" : sessionId,
+                "title", title,
+                "body", body
+        );
     }
 }
@@ -0,0 +1,93 @@
+package com.example.SafeTag_BE.service;
+
+import com.example.SafeTag_BE.entity.FcmToken;
+import com.example.SafeTag_BE.entity.User;
+import com.example.SafeTag_BE.repository.FcmTokenRepository;
+import com.example.SafeTag_BE.repository.UserRepository;
+import com.example.SafeTag_BE.store.OwnerTokenCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 차주 FCM 토큰의 단일 진입점.
+ * <p>
+ * 토큰은 fcm_token 테이블에 모으고, 예전 users.fcm_token 컬럼은 호환용으로 최신 기기 값을 함께 쓴다.
+ * 조회는 차주별 캐시(write-through)에서 하므로 평상시 푸시 발송 경로에는 DB 조회가 없다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FcmTokenRegistry {
+
+    private final FcmTokenRepository fcmTokenRepository;
+    private final UserRepository userRepository;
+    private final OwnerTokenCache ownerTokenCache;
+
+    /** 차주의 활성 토큰 (캐시에 없을 때만 DB 조회) */
+    public Set<String> activeTokens(Long ownerId) {
+        if (ownerId == null) return Set.of();
+        Set<String> cached = ownerTokenCache.get(ownerId);
+        if (cached != null) return cached;
+
+        long seen = ownerTokenCache.version();
+        List<String> tokens = new ArrayList<>(fcmTokenRepository.findActiveTokensByUserId(ownerId));
+        // fcm_token 으로 옮겨지기 전 users 컬럼에만 있던 토큰
+        String legacy = userRepository.findFcmTokenById(ownerId);
+        if (legacy != null && !tokens.contains(legacy)) tokens.add(legacy);
+        // 로딩 중 register/정리가 있었으면 캐시하지 않음 (오래된 값으로 덮어쓰지 않도록)
+        return ownerTokenCache.putLoaded(ownerId, tokens, seen);
+    }
+
+    /** 기기 토큰 등록. 다른 차주에게 묶여 있던 토큰이면 현재 차주로 옮김 */
+    @Transactional
+    public void register(Long ownerId, String token) {
+        User user = userRepository.findById(ownerId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        FcmToken existing = fcmTokenRepository.findByToken(token).orElse(null);
+        Long prevOwner = null;
+        if (existing != null) {
+            prevOwner = existing.getUser() != null ? existing.getUser().getId() : null;
+            existing.setUser(user);
+            existing.setActive(true);
+            existing.setUpdatedAt(LocalDateTime.now());
+        } else {
+            fcmTokenRepository.save(FcmToken.builder()
+                    .user(user)
+                    .token(token)
+                    .active(true)
+                    .build());
+        }
+        user.setFcmToken(token);
+        // 같은 토큰이 다른 차주의 예전 users.fcm_token 에 남아 있으면 그쪽 기기로 계속 나가므로 비움
+        int clearedLegacy = userRepository.clearFcmTokenOfOthers(token, ownerId);
+
+        // 롤백된 토큰이 캐시에 남지 않도록 커밋 후 반영
+        final Long movedFrom = prevOwner;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (movedFrom != null && !movedFrom.equals(ownerId)) {
+                    ownerTokenCache.removeToken(movedFrom, token);
+                } else if (clearedLegacy > 0) {
+                    // users 컬럼에만 있던 토큰이라 이전 차주를 모름
+                    ownerTokenCache.removeTokens(Set.of(token));
+                }
+                ownerTokenCache.addToken(ownerId, token);
+            }
+        });
+    }
+
+    public void evict(Long ownerId) {
+        ownerTokenCache.evict(ownerId);
+    }
+}
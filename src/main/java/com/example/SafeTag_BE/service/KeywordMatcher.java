@@ -0,0 +1,180 @@
+package com.example.SafeTag_BE.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 여러 키워드를 텍스트 한 번 훑기로 찾는 Aho-Corasick 자동자 (대소문자 무시).
+ * <p>
+ * 생성 후에는 읽기 전용이라 여러 스레드에서 같이 써도 된다. 노드 전이는 정렬된 char 배열 +
+ * 이진 탐색으로 찾고, 실패 링크와 출력 링크는 생성 시 BFS 로 미리 계산해 둔다.
+ */
+public final class KeywordMatcher {
+
+    /** 매칭된 키워드와 원문에서의 시작 위치(char index) */
+    public record Match(String keyword, int start) {
+        public int end() { return start + keyword.length(); }
+
+        @Override
+        public String toString() { return keyword + "@" + start; }
+    }
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final int[] NO_NEXT = new int[0];
+
+    private final String[] keywords;
+    // 노드별 전이 (keys 는 정렬, next 는 같은 인덱스의 자식 노드)
+    private char[][] keys;
+    private int[][] next;
+    private int[] fail;
+    // 이 노드에서 끝나는 키워드 (없으면 -1)
+    private int[] word;
+    // 실패 링크를 따라가며 처음 만나는 키워드 노드 (없으면 0 = 루트)
+    private int[] dictLink;
+    private int size;
+
+    private KeywordMatcher(String[] keywords) {
+        this.keywords = keywords;
+        int cap = 1;
+        for (String k : keywords) cap += k.length();
+        keys = new char[cap][];
+        next = new int[cap][];
+        word = new int[cap];
+        Arrays.fill(keys, NO_KEYS);
+        Arrays.fill(next, NO_NEXT);
+        Arrays.fill(word, -1);
+        size = 1;
+
+        for (int i = 0; i < keywords.length; i++) insert(keywords[i], i);
+        link();
+    }
+
+    /** 빈 문자열/중복(대소문자 무시)은 제외하고 만든다 */
+    public static KeywordMatcher of(Collection<String> keywords) {
+        LinkedHashSet<String> uniq = new LinkedHashSet<>();
+        if (keywords != null) {
+            for (String k : keywords) {
+                if (k == null || k.isBlank()) continue;
+                uniq.add(lower(k.strip()));
+            }
+        }
+        return new KeywordMatcher(uniq.toArray(new String[0]));
+    }
+
+    public List<String> keywords() {
+        return List.of(keywords);
+    }
+
+    public boolean isEmpty() {
+        return keywords.length == 0;
+    }
+
+    /** 겹치는 것 포함 모든 매칭, 끝 위치 순 */
+    public List<Match> findAll(CharSequence text) {
+        List<Match> out = new ArrayList<>();
+        if (text == null || keywords.length == 0) return out;
+
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int to;
+            while ((to = step(state, c)) < 0 && state != 0) state = fail[state];
+            state = Math.max(to, 0);
+
+            for (int s = word[state] >= 0 ? state : dictLink[state]; s != 0; s = dictLink[s]) {
+                String k = keywords[word[s]];
+                out.add(new Match(k, i + 1 - k.length()));
+            }
+        }
+        return out;
+    }
+
+    /** 하나라도 있으면 true (첫 매칭에서 멈춤) */
+    public boolean containsAny(CharSequence text) {
+        if (text == null || keywords.length == 0) return false;
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int to;
+            while ((to = step(state, c)) < 0 && state != 0) state = fail[state];
+            state = Math.max(to, 0);
+            if (word[state] >= 0 || dictLink[state] != 0) return true;
+        }
+        return false;
+    }
+
+    private int step(int node, char c) {
+        int idx = Arrays.binarySearch(keys[node], c);
+        return idx >= 0 ? next[node][idx] : -1;
+    }
+
+    private void insert(String k, int id) {
+        int node = 0;
+        for (int i = 0; i < k.length(); i++) {
+            char c = k.charAt(i);
+            int to = step(node, c);
+            if (to < 0) {
+                to = size++;
+                addEdge(node, c, to);
+            }
+            node = to;
+        }
+        word[node] = id;
+    }
+
+    // 정렬 순서를 유지하면서 전이 추가 (생성 시에만)
+    private void addEdge(int node, char c, int to) {
+        char[] ks = keys[node];
+        int[] ns = next[node];
+        int pos = -(Arrays.binarySearch(ks, c) + 1);
+        char[] nk = new char[ks.length + 1];
+        int[] nn = new int[ns.length + 1];
+        System.arraycopy(ks, 0, nk, 0, pos);
+        System.arraycopy(ns, 0, nn, 0, pos);
+        nk[pos] = c;
+        nn[pos] = to;
+        System.arraycopy(ks, pos, nk, pos + 1, ks.length - pos);
+        System.arraycopy(ns, pos, nn, pos + 1, ns.length - pos);
+        keys[node] = nk;
+        next[node] = nn;
+    }
+
+    // BFS 로 실패 링크 / 출력 링크 계산
+    private void link() {
+        keys = Arrays.copyOf(keys, size);
+        next = Arrays.copyOf(next, size);
+        word = Arrays.copyOf(word, size);
+        fail = new int[size];
+        dictLink = new int[size];
+
+        int[] queue = new int[size];
+        int head = 0, tail = 0;
+        for (int child : next[0]) queue[tail++] = child; // 깊이 1 은 fail = 루트
+
+        while (head < tail) {
+            int node = queue[head++];
+            char[] ks = keys[node];
+            int[] ns = next[node];
+            for (int j = 0; j < ks.length; j++) {
+                int child = ns[j];
+                int f = fail[node];
+                int to;
+                while ((to = step(f, ks[j])) < 0 && f != 0) f = fail[f];
+                fail[child] = to >= 0 ? to : 0;
+                int fc = fail[child];
+                dictLink[child] = word[fc] >= 0 ? fc : dictLink[fc];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    // findAll 과 같은 규칙(char 단위 toLowerCase)으로 정규화해야 위치가 원문과 맞는다
+    private static String lower(String s) {
+        char[] cs = s.toCharArray();
+        for (int i = 0; i < cs.length; i++) cs[i] = Character.toLowerCase(cs[i]);
+        return new String(cs);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.SafeTag_BE.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FastAPI OCR 서버 호출용 클라이언트.
+ * <p>
+ * JDK HttpClient 하나를 공유해서 연결을 재사용(keep-alive)하고, 파일은 multipart 본문에
+ * 메모리로 올리지 않고 디스크에서 바로 스트리밍한다. sendAsync 를 쓰므로 응답을 기다리는 동안
+ * 호출 스레드를 붙잡지 않는다 (HTTP/2 는 app.ocr.http.version=HTTP_2 일 때).
+ * 여러 문서는 /ocr/batch 한 번으로 보내고 파일별 결과를 순서대로 돌려받는다.
+ */
+@Component
+public class OcrClient {
+
+    private static final String CRLF = "\r\n";
+
+    /** 배치의 파일 하나에 대한 결과. 실패면 text 가 null, 다시 보내도 소용없는 실패면 retryable=false */
+    public record Result(String text, String error, boolean retryable) {
+        public boolean ok() { return error == null; }
+
+        static Result success(String text) { return new Result(text, null, true); }
+
+        static Result failure(String error) { return new Result(null, error, true); }
+
+        static Result missing(String fileId) { return new Result(null, MissingFileException.message(fileId), false); }
+    }
+
+    /** 업로드 파일이 없거나 fileId 가 비어 있음 (재시도 대상 아님) */
+    public static class MissingFileException extends IllegalStateException {
+        public MissingFileException(String fileId) {
+            super(message(fileId));
+        }
+
+        static String message(String fileId) {
+            return "업로드 파일이 없습니다: " + fileId;
+        }
+    }
+
+    private final HttpClient client;
+    private final ObjectMapper om = new ObjectMapper();
+    private final String baseUrl;
+    private final Path uploadBaseDir;
+    private final Duration requestTimeout;
+
+    private final Timer callLatency;
+    private final Counter okCalls;
+    private final Counter failedCalls;
+
+    public OcrClient(MeterRegistry registry,
+                     @Value("${app.ocr.base-url:http://localhost:8000}") String baseUrl,
+                     @Value("${app.upload.base-dir:./uploads}") String uploadBaseDir,
+                     @Value("${app.ocr.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+                     @Value("${app.ocr.http.request-timeout-ms:60000}") long requestTimeoutMs,
+                     @Value("${app.ocr.http.version:HTTP_1_1}") HttpClient.Version version) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.uploadBaseDir = Path.of(uploadBaseDir);
+        this.requestTimeout = Duration.ofMillis(Math.max(1L, requestTimeoutMs));
+        this.client = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(Duration.ofMillis(Math.max(1L, connectTimeoutMs)))
+                .build();
+
+        this.callLatency = Timer.builder("safetag.ocr.call.latency").register(registry);
+        this.okCalls = Counter.builder("safetag.ocr.call").tag("result", "ok").register(registry);
+        this.failedCalls = Counter.builder("safetag.ocr.call").tag("result", "error").register(registry);
+    }
+
+    /** POST {base}/ocr (file 하나) -> 응답의 text. 실패는 future 로 (재시도는 호출자 몫) */
+    public CompletableFuture<String> recognizeAsync(String fileId) {
+        if (!exists(fileId)) return CompletableFuture.failedFuture(new MissingFileException(fileId));
+        String boundary = "----safetag" + UUID.randomUUID().toString().replace("-", "");
+        HttpRequest req;
+        try {
+            req = HttpRequest.newBuilder(URI.create(baseUrl + "/ocr"))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(multipart(boundary, "file", List.of(fileId)))
+                    .build();
+        } catch (FileNotFoundException e) {
+            return CompletableFuture.failedFuture(new MissingFileException(fileId));
+        }
+
+        long started = System.nanoTime();
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((r, e) -> {
+                    callLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    (e == null && r.statusCode() / 100 == 2 ? okCalls : failedCalls).increment();
+                })
+                .thenApply(this::textOf);
+    }
+
+    /**
+     * POST {base}/ocr/batch (files 여러 개) -> fileIds 와 같은 순서의 결과.
+     * 디스크에 없는 파일은 보내지 않고 그 자리만 실패로 채운다. 요청 자체가 실패하면 future 가 실패.
+     */
+    public CompletableFuture<List<Result>> recognizeBatchAsync(List<String> fileIds) {
+        Result[] results = new Result[fileIds.size()];
+        List<String> sent = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        for (int i = 0; i < fileIds.size(); i++) {
+            String id = fileIds.get(i);
+            if (!exists(id)) {
+                results[i] = Result.missing(id);
+            } else {
+                sent.add(id);
+                slots.add(i);
+            }
+        }
+        if (sent.isEmpty()) return CompletableFuture.completedFuture(Arrays.asList(results));
+
+        String boundary = "----safetag" + UUID.randomUUID().toString().replace("-", "");
+        HttpRequest req;
+        try {
+            req = HttpRequest.newBuilder(URI.create(baseUrl + "/ocr/batch"))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(multipart(boundary, "files", sent))
+                    .build();
+        } catch (FileNotFoundException e) {
+            // 확인한 뒤에 지워진 경우
+            return CompletableFuture.failedFuture(new MissingFileException(e.getMessage()));
+        }
+
+        long started = System.nanoTime();
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((r, e) -> {
+                    callLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    (e == null && r.statusCode() / 100 == 2 ? okCalls : failedCalls).increment();
+                })
+                .thenApply(resp -> {
+                    JsonNode items = json(resp).get("results");
+                    if (items == null || !items.isArray() || items.size() != sent.size()) {
+                        throw new IllegalStateException("OCR 배치 응답 개수가 맞지 않습니다.");
+                    }
+                    for (int k = 0; k < slots.size(); k++) {
+                        JsonNode it = items.get(k);
+                        JsonNode err = it.get("error");
+                        results[slots.get(k)] = err != null && !err.isNull()
+                                ? Result.failure(err.asText())
+                                : Result.success(it.path("text").asText(""));
+                    }
+                    return Arrays.asList(results);
+                });
+    }
+
+    private boolean exists(String fileId) {
+        return fileId != null && !fileId.isBlank() && uploadBaseDir.resolve(fileId).toFile().isFile();
+    }
+
+    private String textOf(HttpResponse<byte[]> resp) {
+        JsonNode text = json(resp).get("text");
+        return text == null || text.isNull() ? "" : text.asText();
+    }
+
+    private JsonNode json(HttpResponse<byte[]> resp) {
+        if (resp.statusCode() / 100 != 2 || resp.body() == null) {
+            throw new IllegalStateException("OCR 서버 응답이 유효하지 않습니다. status=" + resp.statusCode());
+        }
+        try {
+            return om.readTree(resp.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException("OCR 응답 파싱 실패", e);
+        }
+    }
+
+    // 파일마다 파트 헤더 + 본문(스트리밍), 마지막에 닫는 boundary
+    private HttpRequest.BodyPublisher multipart(String boundary, String field, List<String> fileIds)
+            throws FileNotFoundException {
+        List<HttpRequest.BodyPublisher> parts = new ArrayList<>(fileIds.size() * 2 + 1);
+        for (String fileId : fileIds) {
+            Path file = uploadBaseDir.resolve(fileId);
+            String filename = file.getFileName().toString().replace("\"", "");
+            MediaType type = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+            String head = (parts.isEmpty() ? "" : CRLF) + "--" + boundary + CRLF
+                    + "Content-Disposition: form-data; name=\"" + field + "\"; filename=\"" + filename + "\"" + CRLF
+                    + "Content-Type: " + type + CRLF + CRLF;
+            parts.add(HttpRequest.BodyPublishers.ofString(head, StandardCharsets.UTF_8));
+            parts.add(HttpRequest.BodyPublishers.ofFile(file));
+        }
+        parts.add(HttpRequest.BodyPublishers.ofString(CRLF + "--" + boundary + "--" + CRLF, StandardCharsets.UTF_8));
+        return HttpRequest.BodyPublishers.concat(parts.toArray(new HttpRequest.BodyPublisher[0]));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.SafeTag_BE.service;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * BitMatrix -> 1비트 그레이스케일 PNG 인코더.
+ * BufferedImage/ImageIO 를 거치지 않고 행 단위로 바로 deflate 하며,
+ * Deflater 와 행/출력 버퍼는 스레드별로 재사용한다.
+ */
+public final class QrPngEncoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte FILTER_NONE = 0;
+    private static final byte FILTER_UP = 2;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private QrPngEncoder() {}
+
+    /** 스레드별 재사용 버퍼 */
+    private static final class State {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        final CRC32 crc = new CRC32();
+        byte[] row = new byte[0];
+        byte[] prev = new byte[0];
+        byte[] zeros = new byte[0];
+        byte[] out = new byte[8 * 1024];
+        int outLen;
+
+        void ensureRow(int n) {
+            if (row.length != n) {
+                row = new byte[n];
+                prev = new byte[n];
+                zeros = new byte[n];
+            }
+        }
+    }
+
+    /** 켜진 모듈(true)은 검정, 나머지는 흰색으로 기록 */
+    public static byte[] encode(BitMatrix matrix) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        int rowBytes = (width + 7) >>> 3;
+
+        State st = STATE.get();
+        st.ensureRow(rowBytes);
+        st.outLen = 0;
+        Deflater deflater = st.deflater;
+        deflater.reset();
+
+        byte[] filter = new byte[1];
+        for (int y = 0; y < height; y++) {
+            packRow(matrix, y, width, st.row);
+            // QR 은 모듈 크기만큼 같은 행이 반복되므로 Up 필터로 0 행을 보낸다
+            if (y > 0 && Arrays.equals(st.row, st.prev)) {
+                filter[0] = FILTER_UP;
+                deflateInto(st, filter, 1);
+                deflateInto(st, st.zeros, rowBytes);
+            } else {
+                filter[0] = FILTER_NONE;
+                deflateInto(st, filter, 1);
+                deflateInto(st, st.row, rowBytes);
+                byte[] t = st.prev; st.prev = st.row; st.row = t;
+            }
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            drain(st);
+        }
+
+        int idatLen = st.outLen;
+        byte[] png = new byte[SIGNATURE.length + (12 + 13) + (12 + idatLen) + 12];
+        int p = 0;
+        System.arraycopy(SIGNATURE, 0, png, 0, SIGNATURE.length);
+        p += SIGNATURE.length;
+
+        byte[] ihdr = new byte[13];
+        putInt(ihdr, 0, width);
+        putInt(ihdr, 4, height);
+        ihdr[8] = 1;   // bit depth
+        ihdr[9] = 0;   // color type: grayscale
+        ihdr[10] = 0;  // compression
+        ihdr[11] = 0;  // filter method
+        ihdr[12] = 0;  // interlace
+        p = writeChunk(st.crc, png, p, IHDR, ihdr, 13);
+        p = writeChunk(st.crc, png, p, IDAT, st.out, idatLen);
+        writeChunk(st.crc, png, p, IEND, null, 0);
+        return png;
+    }
+
+    private static void packRow(BitMatrix matrix, int y, int width, byte[] row) {
+        int bytes = row.length;
+        for (int b = 0; b < bytes; b++) {
+            int v = 0;
+            int x0 = b << 3;
+            for (int i = 0; i < 8; i++) {
+                int x = x0 + i;
+                // 1 = 흰색, 패딩 비트도 흰색으로 채움
+                boolean white = x >= width || !matrix.get(x, y);
+                if (white) v |= 0x80 >>> i;
+            }
+            row[b] = (byte) v;
+        }
+    }
+
+    private static void deflateInto(State st, byte[] data, int len) {
+        st.deflater.setInput(data, 0, len);
+        while (!st.deflater.needsInput()) {
+            drain(st);
+        }
+    }
+
+    private static void drain(State st) {
+        if (st.outLen == st.out.length) {
+            st.out = Arrays.copyOf(st.out, st.out.length * 2);
+        }
+        st.outLen += st.deflater.deflate(st.out, st.outLen, st.out.length - st.outLen);
+    }
+
+    private static int writeChunk(CRC32 crc, byte[] dst, int p, byte[] type, byte[] data, int len) {
+        putInt(dst, p, len);
+        p += 4;
+        System.arraycopy(type, 0, dst, p, 4);
+        if (len > 0) System.arraycopy(data, 0, dst, p + 4, len);
+
+        crc.reset();
+        crc.update(dst, p, 4 + len);
+        p += 4 + len;
+        putInt(dst, p, (int) crc.getValue());
+        return p + 4;
+    }
+
+    private static void putInt(byte[] dst, int p, int v) {
+        dst[p] = (byte) (v >>> 24);
+        dst[p + 1] = (byte) (v >>> 16);
+        dst[p + 2] = (byte) (v >>> 8);
+        dst[p + 3] = (byte) v;
+    }
+}
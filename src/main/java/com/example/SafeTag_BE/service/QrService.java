@@ -7,27 +7,39 @@ import com.example.SafeTag_BE.entity.DynamicQR;
 import com.example.SafeTag_BE.entity.User;
 import com.example.SafeTag_BE.repository.DynamicQRRepository;
 import com.example.SafeTag_BE.repository.UserRepository;
+import com.example.SafeTag_BE.store.ActiveQrIndex;
+import com.example.SafeTag_BE.store.QrImageCache;
+import com.example.SafeTag_BE.store.QrLookupCache;
 import com.google.zxing.BarcodeFormat;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.ByteArrayOutputStream;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class QrService {
 
     private final DynamicQRRepository qrRepository;
     private final UserRepository userRepository;
+    private final QrImageCache qrImageCache;
+    private final ActiveQrIndex activeQrIndex;
+    private final QrLookupCache qrLookupCache;
+    private final PlatformTransactionManager transactionManager;
 
     private static final int QR_SIZE = 250;
     /** QR 유효기간(초) */
@@ -39,13 +51,41 @@ public class QrService {
 
     /* ========================= 발급/회전 ========================= */
 
-    @Transactional
     public DynamicQR issueOrRotate(Long userId) {
         return issueOrRotate(userId, false);
     }
 
-    @Transactional
+    /**
+     * 남은 시간이 가드보다 크면 인덱스에서 바로 반환(DB 미사용),
+     * 아니면 사용자별 락 안에서 DB 확인 후 회전한다.
+     */
     public DynamicQR issueOrRotate(Long userId, boolean force) {
+        if (!force) {
+            DynamicQR cached = reusable(userId, LocalDateTime.now());
+            if (cached != null) return cached;
+        }
+
+        ReentrantLock lock = activeQrIndex.lockFor(userId);
+        lock.lock();
+        try {
+            // 락 대기 중 다른 요청이 이미 회전했으면 그 결과를 사용
+            if (!force) {
+                DynamicQR cached = reusable(userId, LocalDateTime.now());
+                if (cached != null) return cached;
+            }
+
+            DynamicQR qr = new TransactionTemplate(transactionManager)
+                    .execute(status -> rotateInTx(userId, force));
+            // 커밋 이후에 인덱스 갱신 + 이미지 미리 렌더링
+            activeQrIndex.put(userId, qr);
+            prerender(qr);
+            return qr;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private DynamicQR rotateInTx(Long userId, boolean force) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("USER_NOT_FOUND"));
 
@@ -63,6 +103,13 @@ public class QrService {
         return saveNewQr(user, now);
     }
 
+    private DynamicQR reusable(Long userId, LocalDateTime now) {
+        ActiveQrIndex.ActiveQr active = activeQrIndex.get(userId);
+        if (active == null || active.expiredAt() == null) return null;
+        long left = Math.max(0L, Duration.between(now, active.expiredAt()).getSeconds());
+        return left > ROTATE_GUARD_SECONDS ? active.toDetached() : null;
+    }
+
     /* ========================= 조회/검증 ========================= */
 
     @Transactional(readOnly = true)
@@ -103,27 +150,36 @@ public class QrService {
                 .orElseThrow(() -> new IllegalArgumentException("QR ID 없음"));
     }
 
-    @Transactional(readOnly = true)
+    /** qrValue 조회: 캐시 우선, 미스 시 User 까지 한 번에 로딩해 만료 시각까지 캐시 */
+    public Optional<QrLookupCache.QrLookup> lookupByValue(String qrValue) {
+        QrLookupCache.QrLookup hit = qrLookupCache.get(qrValue);
+        if (hit != null) return Optional.of(hit);
+
+        Optional<QrLookupCache.QrLookup> loaded = qrRepository.findWithUserByQrValue(qrValue)
+                .map(QrLookupCache.QrLookup::of);
+        loaded.ifPresent(qrLookupCache::put);
+        return loaded;
+    }
+
     public String getProxyPhoneNumber(String qrValue) {
-        DynamicQR qr = qrRepository.findByQrValue(qrValue)
+        QrLookupCache.QrLookup qr = lookupByValue(qrValue)
                 .orElseThrow(() -> new IllegalArgumentException("QR값이 유효하지 않음"));
 
-        if (isExpired(qr, LocalDateTime.now())) {
+        if (qr.isExpired(LocalDateTime.now())) {
             throw new IllegalStateException("QR이 만료되었습니다.");
         }
         // 010-****-1234 형태로 마스킹
-        return qr.getUser().getPhoneNum().replaceAll("(\\d{3})\\d{4}(\\d{4})", "$1-****-$2");
+        return qr.ownerPhoneNum().replaceAll("(\\d{3})\\d{4}(\\d{4})", "$1-****-$2");
     }
 
-    @Transactional(readOnly = true)
     public Map<String, Object> validate(String code) {
-        DynamicQR qr = qrRepository.findByQrValue(code)
+        QrLookupCache.QrLookup qr = lookupByValue(code)
                 .orElseThrow(() -> new IllegalArgumentException("NOT_FOUND"));
 
-        if (isExpired(qr, LocalDateTime.now())) {
+        if (qr.isExpired(LocalDateTime.now())) {
             return Map.of("valid", false, "reason", "EXPIRED");
         }
-        return Map.of("valid", true, "ownerId", qr.getUser().getId(), "qrId", qr.getId());
+        return Map.of("valid", true, "ownerId", qr.ownerId(), "qrId", qr.qrId());
     }
 
     /* ========================= 생성/이미지 ========================= */
@@ -142,18 +198,37 @@ public class QrService {
                 .build();
 
         qrRepository.save(qr);
+        // 롤백된 QR 이 인덱스/이미지 캐시에 남지 않도록 커밋 후 반영
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                activeQrIndex.put(user.getId(), qr);
+                prerender(qr);
+            }
+        });
 
         return new QrResponseDto(qr.getId(), qr.getQrValue(), qr.getExpiredAt().toString());
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 이미지 조회: 캐시 히트면 DB 를 거치지 않고 바로 반환.
+     * 미스면 QR 을 조회(만료면 QrGoneException)해 렌더링 후 만료 시각까지 캐시한다.
+     */
+    public QrImageCache.CachedImage getQrImage(Long qrId) throws Exception {
+        QrImageCache.CachedImage cached = qrImageCache.get(qrId);
+        if (cached != null) return cached;
+
+        DynamicQR qr = getValidByIdOrGone(qrId);
+        byte[] png = generateQrImage(qr.getQrValue());
+        qrImageCache.put(qr.getId(), png, qr.getExpiredAt());
+        return new QrImageCache.CachedImage(png, qr.getExpiredAt());
+    }
+
     public byte[] generateQrImage(String qrValue) throws Exception {
         QRCodeWriter writer = new QRCodeWriter();
         BitMatrix matrix = writer.encode(qrValue, BarcodeFormat.QR_CODE, QR_SIZE, QR_SIZE);
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            MatrixToImageWriter.writeToStream(matrix, "PNG", out);
-            return out.toByteArray();
-        }
+        // BufferedImage 를 거치지 않고 1비트 PNG 로 바로 인코딩
+        return QrPngEncoder.encode(matrix);
     }
 
     /* ========================= 내부 유틸 ========================= */
@@ -168,6 +243,16 @@ public class QrService {
         return qrRepository.save(qr);
     }
 
+    // 발급(커밋) 직후 미리 렌더링 (실패해도 이미지 요청 때 다시 시도)
+    private void prerender(DynamicQR qr) {
+        if (qr == null || qrImageCache.contains(qr.getId())) return;
+        try {
+            qrImageCache.put(qr.getId(), generateQrImage(qr.getQrValue()), qr.getExpiredAt());
+        } catch (Exception e) {
+            log.warn("[QR] prerender failed qrId={}: {}", qr.getId(), e.toString());
+        }
+    }
+
     private boolean isExpired(DynamicQR qr, LocalDateTime now) {
         return qr.getExpiredAt() != null && qr.getExpiredAt().isBefore(now);
     }
@@ -2,11 +2,10 @@ package com.example.SafeTag_BE.service;
 
 import com.example.SafeTag_BE.dto.QrViewResponseDto;
 import com.example.SafeTag_BE.entity.DynamicQR;
-import com.example.SafeTag_BE.entity.FcmToken;
 import com.example.SafeTag_BE.entity.User;
 import com.example.SafeTag_BE.exception.QrNotFoundException;
+import com.example.SafeTag_BE.push.PushThrottle;
 import com.example.SafeTag_BE.repository.DynamicQRRepository;
-import com.example.SafeTag_BE.repository.FcmTokenRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -15,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -26,7 +26,8 @@ public class QrViewService {
     private final PermitService permitService;           // 스티커/허가 조회(내부)
 
     private final FcmService fcmService;                 // FCM 발송
-    private final FcmTokenRepository fcmTokenRepository; // 차주 FCM 토큰 조회
+    private final FcmTokenRegistry fcmTokenRegistry;     // 차주 FCM 토큰 (캐시)
+    private final PushThrottle pushThrottle;             // 반복 스캔 푸시 억제
 
     @Transactional(readOnly = true)
     public QrViewResponseDto view(Long qrId, Authentication auth) {
@@ -53,25 +54,24 @@ public class QrViewService {
             RelayTicketService.Ticket msg  = relayTicketService.issue(qrId, "MSG");
 
             // 2) 차주에게 푸시 (sessionId = qrId 문자열 사용)
-            if (ownerId != null) {
+            // 새로고침/여러 명 스캔으로 인한 중복 푸시는 억제 (건수는 메트릭으로만)
+            if (ownerId != null && pushThrottle.tryAcquire(ownerId, qrId) == PushThrottle.Decision.SEND) {
                 try {
-                    List<FcmToken> tokens =
-                            fcmTokenRepository.findAllByUserIdAndActiveTrue(ownerId);
+                    // 캐시에 없을 때만 DB 조회 (죽은 토큰은 전송 결과로 캐시에서 빠짐)
+                    Set<String> tokens = fcmTokenRegistry.activeTokens(ownerId);
 
                     if (!tokens.isEmpty()) {
                         final String sessionId = String.valueOf(qrId); // 통일해두ㅏ
-                        for (FcmToken t : tokens) {
-                            String tok = t.getToken();
-                            if (tok != null && !tok.isBlank()) {
-                                fcmService.sendCallRequest(
-                                        tok,
-                                        (owner != null ? owner.getName() : "차주"),
-                                        sessionId
-                                );
-                            }
-                        }
-                        log.info("[FCM] 통화요청 푸시 완료 ownerId={}, qrId={}, tokens={}",
-                                ownerId, qrId, tokens.size());
+                        List<String> toks = List.copyOf(tokens);
+                        // 발송은 큐에서 비동기로 (응답을 기다리지 않음)
+                        int queued = fcmService.sendCallRequest(
+                                ownerId,
+                                toks,
+                                (owner != null ? owner.getName() : "차주"),
+                                sessionId
+                        );
+                        log.info("[FCM] 통화요청 푸시 등록 ownerId={}, qrId={}, tokens={}, queued={}",
+                                ownerId, qrId, toks.size(), queued);
                     } else {
                         log.info("[FCM] 활성 토큰 없음 ownerId={}, qrId={}", ownerId, qrId);
                     }
@@ -79,7 +79,7 @@ public class QrViewService {
                     log.warn("[FCM] 통화요청 발송 오류(무시) ownerId={}, qrId={}, err={}",
                             ownerId, qrId, e.toString());
                 }
-            } else {
+            } else if (ownerId == null) {
                 log.info("[FCM] QR에 연결된 소유자 없음 qrId={}", qrId);
             }
 
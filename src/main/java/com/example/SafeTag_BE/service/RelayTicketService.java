@@ -1,11 +1,22 @@
 package com.example.SafeTag_BE.service;
 
+import com.example.SafeTag_BE.store.ExpiringStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.time.Instant;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 public class RelayTicketService {
     public static class Ticket {
@@ -19,17 +30,76 @@ public class RelayTicketService {
         }
     }
 
-    private final Map<String, Long> store = new ConcurrentHashMap<>();
+    private final ExpiringStore<String, Long> store = ExpiringStore.create("relay-tickets");
     private static final int DEFAULT_TTL_SEC = 60;
 
+    // 서명 토큰: kind.qrId.exp.mac (mac = HMAC-SHA256 앞 16바이트, base64url)
+    private static final String HMAC_ALG = "HmacSHA256";
+    private static final int MAC_BYTES = 16;
+    // HMAC-SHA256 키 최소 길이 (출력 길이 이상)
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+
+    /** true 면 서버 저장 없이 HMAC 서명 토큰 발급/검증 (여러 노드에서 검증 가능) */
+    @Value("${app.relay.ticket.signed:false}")
+    private boolean signed;
+
+    /** 서명 키 (UTF-8 32바이트 이상). 여러 노드가 같은 값을 써야 서로의 티켓을 검증할 수 있음 */
+    @Value("${app.relay.ticket.secret:}")
+    private String secret;
+
+    private SecretKeySpec key;
+    private ThreadLocal<Mac> macs;
+
+    @PostConstruct
+    void init() {
+        if (!signed) return;
+        byte[] k;
+        if (secret == null || secret.isBlank()) {
+            k = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(k);
+            log.warn("[RELAY] app.relay.ticket.secret 미설정: 임시 키 사용(이 노드에서만 검증 가능)");
+        } else {
+            k = secret.getBytes(StandardCharsets.UTF_8);
+            // 짧은 키는 추측 가능하므로 기동 실패로 알린다
+            if (k.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException(
+                        "app.relay.ticket.secret 은 " + MIN_SECRET_BYTES + "바이트 이상이어야 합니다. (현재 " + k.length + ")");
+            }
+        }
+        key = new SecretKeySpec(k, HMAC_ALG);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALG);
+                mac.init(key);
+                return mac;
+            } catch (Exception e) {
+                throw new IllegalStateException("HMAC error", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        store.close();
+    }
+
     public Ticket issue(Long qrId, String kind) {
-        String token = kind + "." + qrId + "." + UUID.randomUUID();
         long exp = Instant.now().getEpochSecond() + DEFAULT_TTL_SEC;
-        store.put(token, exp);
+        if (signed) {
+            String body = kind + "." + qrId + "." + exp;
+            return new Ticket(body + "." + B64.encodeToString(mac(body)), exp);
+        }
+
+        String token = kind + "." + qrId + "." + UUID.randomUUID();
+        store.put(token, exp, Instant.ofEpochSecond(exp + 1));
         return new Ticket(token, exp);
     }
 
     public Long verify(String token, String expectedKind) {
+        if (signed) return verifySigned(token, expectedKind);
+
         Long exp = store.get(token);
         if (exp == null) throw new IllegalArgumentException("Invalid ticket");
         if (Instant.now().getEpochSecond() > exp) {
@@ -42,4 +112,44 @@ public class RelayTicketService {
         String[] parts = token.split("\\.");
         return Long.parseLong(parts[1]); // qrId
     }
+
+    private Long verifySigned(String token, String expectedKind) {
+        if (token == null) throw new IllegalArgumentException("Invalid ticket");
+        int d1 = token.indexOf('.');
+        int d2 = d1 < 0 ? -1 : token.indexOf('.', d1 + 1);
+        int d3 = d2 < 0 ? -1 : token.indexOf('.', d2 + 1);
+        if (d3 < 0 || token.indexOf('.', d3 + 1) >= 0) throw new IllegalArgumentException("Invalid ticket");
+
+        // 서명 먼저 확인 (상수 시간 비교)
+        byte[] given;
+        try {
+            given = B64D.decode(token.substring(d3 + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid ticket");
+        }
+        if (!MessageDigest.isEqual(mac(token.substring(0, d3)), given)) {
+            throw new IllegalArgumentException("Invalid ticket");
+        }
+
+        long exp;
+        long qrId;
+        try {
+            qrId = Long.parseLong(token, d1 + 1, d2, 10);
+            exp = Long.parseLong(token, d2 + 1, d3, 10);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid ticket");
+        }
+        if (Instant.now().getEpochSecond() > exp) {
+            throw new IllegalArgumentException("Expired ticket");
+        }
+        if (!token.regionMatches(0, expectedKind, 0, d1) || expectedKind.length() != d1) {
+            throw new IllegalArgumentException("Kind mismatch");
+        }
+        return qrId;
+    }
+
+    private byte[] mac(String body) {
+        byte[] full = macs.get().doFinal(body.getBytes(StandardCharsets.UTF_8));
+        return Arrays.copyOf(full, MAC_BYTES);
+    }
 }
@@ -4,14 +4,20 @@ import com.example.SafeTag_BE.entity.Admin;
 import com.example.SafeTag_BE.entity.User;
 import com.example.SafeTag_BE.repository.AdminRepository;
 import com.example.SafeTag_BE.repository.UserRepository;
+import com.example.SafeTag_BE.store.ExpiringStore;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +28,25 @@ public class UserSecurityService implements UserDetailsService {
 	private final UserRepository userRepository;
 	private final AdminRepository adminRepository;
 
+	// id -> 사용자명/권한 캐시 (계정 생성/수정/삭제 시 evict, 비밀번호 해시는 담지 않음)
+	private static final int PRINCIPAL_CACHE_MAX = 10_000;
+	private final ExpiringStore<Long, CachedPrincipal> principalCache =
+			ExpiringStore.create("principals", PRINCIPAL_CACHE_MAX);
+
+	/**
+	 * 0 이면 캐시하지 않음(기본). 켜면 evict 는 이 노드에만 적용되므로, 다른 노드에서 바뀐
+	 * 권한/계정 삭제는 최대 이 시간(초) 동안 반영되지 않는다.
+	 */
+	@Value("${app.security.principal-cache.ttl-seconds:0}")
+	private long principalCacheTtlSeconds;
+
+	// 토큰 인증에 필요한 값만
+	private record CachedPrincipal(String username, List<GrantedAuthority> authorities) {
+		UserDetails toUserDetails() {
+			return new org.springframework.security.core.userdetails.User(username, "", authorities);
+		}
+	}
+
 	//로그인 시 사용
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -52,28 +77,51 @@ public class UserSecurityService implements UserDetailsService {
 		throw new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username);
 	}
 
-	// userId 기반 인증 (토큰 해석 시 사용)
+	// userId 기반 인증 (토큰 해석 시 사용). 비밀번호는 비어 있음
 	public UserDetails loadUserById(Long id) {
+		CachedPrincipal cached = principalCache.get(id);
+		if (cached != null) return cached.toUserDetails();
+
+		CachedPrincipal loaded = findById(id);
+		if (principalCacheTtlSeconds > 0) {
+			principalCache.put(id, loaded, Duration.ofSeconds(principalCacheTtlSeconds));
+		}
+		return loaded.toUserDetails();
+	}
+
+	// 계정 상태가 바뀌면 호출.
+	// 트랜잭션 안이면 커밋 후에 한 번 더 지움 (커밋 전 다른 요청이 이전 값을 다시 캐시할 수 있으므로)
+	public void evict(Long id) {
+		if (id == null) return;
+		principalCache.remove(id);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					principalCache.remove(id);
+				}
+			});
+		}
+	}
+
+	@PreDestroy
+	void close() {
+		principalCache.close();
+	}
+
+	private CachedPrincipal findById(Long id) {
 		// 일반 사용자 확인
 		Optional<User> optionalUser = userRepository.findById(id);
 		if (optionalUser.isPresent()) {
 			User user = optionalUser.get();
-			return new org.springframework.security.core.userdetails.User(
-					user.getUsername(),
-					user.getPassword(),
-					List.of(new SimpleGrantedAuthority(user.getRole()))
-			);
+			return new CachedPrincipal(user.getUsername(), List.of(new SimpleGrantedAuthority(user.getRole())));
 		}
 
 		// 관리자 확인
 		Optional<Admin> optionalAdmin = adminRepository.findById(id);
 		if (optionalAdmin.isPresent()) {
 			Admin admin = optionalAdmin.get();
-			return new org.springframework.security.core.userdetails.User(
-					admin.getUsername(),
-					admin.getPassword(),
-					List.of(new SimpleGrantedAuthority(admin.getRole()))
-			);
+			return new CachedPrincipal(admin.getUsername(), List.of(new SimpleGrantedAuthority(admin.getRole())));
 		}
 
 		throw new UsernameNotFoundException("사용자를 찾을 수 없습니다.");
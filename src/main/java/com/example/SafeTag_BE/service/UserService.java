@@ -3,10 +3,15 @@ package com.example.SafeTag_BE.service;
 import com.example.SafeTag_BE.entity.User;
 import com.example.SafeTag_BE.exception.ApiException;
 import com.example.SafeTag_BE.repository.UserRepository;
+import com.example.SafeTag_BE.store.ActiveQrIndex;
+import com.example.SafeTag_BE.store.QrImageCache;
+import com.example.SafeTag_BE.store.QrLookupCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -17,6 +22,11 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final QrLookupCache qrLookupCache;
+    private final UserSecurityService userSecurityService;
+    private final FcmTokenRegistry fcmTokenRegistry;
+    private final ActiveQrIndex activeQrIndex;
+    private final QrImageCache qrImageCache;
 
     // 회원가입
     public User create(String name, String username, String password,
@@ -35,7 +45,9 @@ public class UserService {
         user.setAddress(address);
         user.setCarNumber(vehicleNumber.trim());
         //user.setRole(RoleConstants.ROLE_USER); // 권한 설정
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userSecurityService.evict(saved.getId());
+        return saved;
     }
 
     // 사용자 ID(고유번호)로 조회
@@ -63,7 +75,10 @@ public class UserService {
         user.setBirthDate(birthDate);
         user.setGender(gender);
         user.setAddress(address);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        qrLookupCache.evictOwner(id);
+        userSecurityService.evict(id);
+        return saved;
     }
 
     // 로그인
@@ -82,13 +97,35 @@ public class UserService {
     public void deleteUser(Long id) {
         User user = getUser(id); // 존재하지 않으면 예외 발생
         userRepository.deleteById(id);
+        qrLookupCache.evictOwner(id);
+        userSecurityService.evict(id);
+        fcmTokenRegistry.evict(id);
+        // 탈퇴한 사용자의 QR 이 인덱스(issueOrRotate 빠른 경로)에서 계속 나가지 않도록
+        afterCommit(() -> {
+            ActiveQrIndex.ActiveQr active = activeQrIndex.get(id);
+            activeQrIndex.remove(id);
+            if (active != null) qrImageCache.evict(active.qrId());
+        });
     }
 
+    // 트랜잭션 안이면 커밋 후, 아니면 바로 실행
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    // fcm_token 테이블과 users 컬럼을 함께 갱신 (FcmTokenRegistry)
     @Transactional
     public void updateFcmToken(Long userId, String fcmToken) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        user.setFcmToken(fcmToken);
+        fcmTokenRegistry.register(userId, fcmToken);
     }
 
 }
@@ -5,14 +5,20 @@ import com.example.SafeTag_BE.dto.VerifyStartRequestDto;
 import com.example.SafeTag_BE.dto.VerifyStartResponseDto;
 import com.example.SafeTag_BE.dto.VerifyStatusResponseDto;
 import com.example.SafeTag_BE.entity.User;
+import com.example.SafeTag_BE.entity.OcrJob;
+import com.example.SafeTag_BE.entity.OcrJobStatus;
 import com.example.SafeTag_BE.entity.Verification;
 import com.example.SafeTag_BE.exception.ApiException;
+import com.example.SafeTag_BE.job.OcrJobScheduler;
+import com.example.SafeTag_BE.repository.OcrJobRepository;
 import com.example.SafeTag_BE.repository.UserRepository;
 import com.example.SafeTag_BE.repository.VerificationRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 
@@ -22,7 +28,12 @@ public class VerificationService {
 
     private final VerificationRepository verificationRepository;
     private final UserRepository userRepository;
-    @Lazy private final OcrService ocrService;
+    private final OcrJobRepository ocrJobRepository;
+    private final OcrJobScheduler ocrJobScheduler;
+
+    // 처리 대기 중인 OCR 작업이 이만큼 쌓이면 새 심사 요청을 거절 (0 이하면 제한 없음)
+    @Value("${app.ocr.max-pending:200}")
+    private long maxPending;
 
     @Transactional
     public VerifyStartResponseDto startVerification(Long userId, VerifyStartRequestDto req) {
@@ -30,11 +41,20 @@ public class VerificationService {
                 userId, req.getType(), VerificationStatus.PENDING);
         if (exists) throw new ApiException("DUPLICATE_REQUEST", "이미 동일 타입의 심사 대기 요청이 존재합니다.");
 
+        // outbox 가 밀려 있으면 기록하기 전에 거절 (결과를 한참 못 받는 PENDING 이 쌓이지 않도록)
+        if (maxPending > 0 && ocrJobRepository.countByStatus(OcrJobStatus.PENDING) >= maxPending) {
+            throw new ApiException("OCR_BUSY", "현재 심사 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ApiException("NOT_FOUND", "사용자를 찾을 수 없습니다."));
 
         String fileId = (req.getFileIds() != null && !req.getFileIds().isEmpty())
                 ? req.getFileIds().get(0) : null;
+        // 파일 없이는 OCR 심사를 할 수 없음
+        if (fileId == null || fileId.isBlank()) {
+            throw new ApiException("VALIDATION_ERROR", "심사할 파일(fileIds)이 필요합니다.");
+        }
 
         Verification v = Verification.builder()
                 .user(user)
@@ -45,8 +65,14 @@ public class VerificationService {
 
         Verification saved = verificationRepository.save(v);
 
-        // 비동기 OCR
-        ocrService.sendToWorker(saved.getId(), fileId, req.getType());
+        // OCR 작업은 같은 트랜잭션으로 outbox 에 기록하고, 커밋된 뒤에 스케줄러를 깨운다
+        ocrJobRepository.save(OcrJob.pending(saved));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ocrJobScheduler.kick();
+            }
+        });
 
         return new VerifyStartResponseDto(saved.getId(), saved.getStatus());
     }
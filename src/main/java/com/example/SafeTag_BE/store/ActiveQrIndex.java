@@ -0,0 +1,74 @@
+package com.example.SafeTag_BE.store;
+
+import com.example.SafeTag_BE.entity.DynamicQR;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * userId -> 현재 활성 QR 인덱스.
+ * issueOrRotate 의 "기존 QR 유지" 판단을 DB 없이 처리하기 위해 사용한다.
+ * 회전(신규 발급)은 사용자별 락으로 직렬화해서 동시 요청이 QR 을 중복 발급하지 않게 한다.
+ */
+@Component
+public class ActiveQrIndex {
+
+    public record ActiveQr(Long qrId, String qrValue, LocalDateTime generatedAt, LocalDateTime expiredAt) {
+
+        public static ActiveQr of(DynamicQR qr) {
+            return new ActiveQr(qr.getId(), qr.getQrValue(), qr.getGeneratedAt(), qr.getExpiredAt());
+        }
+
+        /** 영속성 컨텍스트와 무관한 조회용 DynamicQR (user 는 비어 있음) */
+        public DynamicQR toDetached() {
+            return DynamicQR.builder()
+                    .id(qrId)
+                    .qrValue(qrValue)
+                    .generatedAt(generatedAt)
+                    .expiredAt(expiredAt)
+                    .build();
+        }
+    }
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Map<Long, ActiveQr> index = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public ActiveQrIndex() {
+        for (int i = 0; i < LOCK_STRIPES; i++) locks[i] = new ReentrantLock();
+    }
+
+    public ActiveQr get(Long userId) {
+        return index.get(userId);
+    }
+
+    /** 더 최근에 발급된 QR 이 이미 있으면 덮어쓰지 않음 */
+    public void put(Long userId, DynamicQR qr) {
+        if (userId == null || qr == null || qr.getId() == null) return;
+        ActiveQr next = ActiveQr.of(qr);
+        index.merge(userId, next, (cur, n) ->
+                cur.generatedAt() != null && n.generatedAt() != null && cur.generatedAt().isAfter(n.generatedAt())
+                        ? cur : n);
+    }
+
+    public void remove(Long userId) {
+        index.remove(userId);
+    }
+
+    /** 회전 구간을 감싸는 사용자별 락 */
+    public ReentrantLock lockFor(Long userId) {
+        return locks[Math.floorMod(userId.hashCode(), LOCK_STRIPES)];
+    }
+
+    // 만료된 항목 정리
+    @Scheduled(fixedDelayString = "${app.qr.active-index.sweep-ms:60000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        index.values().removeIf(a -> a.expiredAt() != null && a.expiredAt().isBefore(now));
+    }
+}
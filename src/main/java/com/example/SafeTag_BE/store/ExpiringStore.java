@@ -0,0 +1,233 @@
+package com.example.SafeTag_BE.store;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 만료 시각이 있는 인메모리 key-value 저장소 (hashed timing wheel).
+ * <p>
+ * 항목은 만료 tick 에 해당하는 버킷에 O(1) 로 등록되고, 공용 sweeper 스레드가
+ * tick 마다 현재 버킷만 훑어 만료 항목을 제거한다. 조회 시에도 만료 여부를 확인하므로
+ * sweeper 가 늦더라도 만료된 값은 반환되지 않는다.
+ * maxEntries 를 주면 가득 찼을 때 새 키는 저장하지 않는다 (기존 키 갱신은 허용).
+ * <p>
+ * 저장소는 {@link #close()} 전까지 sweeper 에 등록돼 있으므로, 빈 등 수명이 있는 소유자는
+ * 종료 시 close 해야 한다. 같은 이름이 이미 열려 있으면 "-2", "-3" ... 을 붙여 구분한다.
+ */
+public class ExpiringStore<K, V> {
+
+    private static final long DEFAULT_TICK_MS = 1000L;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    // 열려 있는 저장소 (이름 -> 저장소, sweeper 대상)
+    private static final Map<String, ExpiringStore<?, ?>> STORES = new ConcurrentHashMap<>();
+    // 저장소 생성/종료 시 호출할 리스너 (메트릭 바인딩용)
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private record Listener(Consumer<ExpiringStore<?, ?>> opened, Consumer<ExpiringStore<?, ?>> closed) {}
+
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "expiring-store-sweeper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        SWEEPER.scheduleWithFixedDelay(() -> {
+            for (ExpiringStore<?, ?> s : STORES.values()) {
+                try {
+                    s.advance(System.currentTimeMillis());
+                } catch (RuntimeException ignored) {
+                    // 한 저장소 오류가 나머지 sweep 을 막지 않도록
+                }
+            }
+        }, DEFAULT_TICK_MS, DEFAULT_TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final long expiresAtMillis;
+
+        Node(K key, V value, long expiresAtMillis) {
+            this.key = key;
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private final String name;
+    private final long tickMs;
+    // 0 이면 제한 없음
+    private final int maxEntries;
+    private final List<Set<Node<K, V>>> wheel;
+    private final Map<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong expired = new AtomicLong();
+
+    // 마지막으로 처리한 tick (sweeper 스레드에서만 갱신)
+    private long currentTick;
+
+    private ExpiringStore(String name, long tickMs, int wheelSize, int maxEntries) {
+        this.name = name;
+        this.tickMs = tickMs;
+        this.maxEntries = Math.max(0, maxEntries);
+        this.wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) wheel.add(ConcurrentHashMap.newKeySet());
+        this.currentTick = System.currentTimeMillis() / tickMs;
+    }
+
+    public static <K, V> ExpiringStore<K, V> create(String name) {
+        return create(name, 0);
+    }
+
+    /** maxEntries 개까지만 보관하는 저장소 */
+    public static <K, V> ExpiringStore<K, V> create(String name, int maxEntries) {
+        synchronized (STORES) {
+            String unique = name;
+            for (int n = 2; STORES.containsKey(unique); n++) unique = name + "-" + n;
+            ExpiringStore<K, V> store = new ExpiringStore<>(unique, DEFAULT_TICK_MS, DEFAULT_WHEEL_SIZE, maxEntries);
+            STORES.put(unique, store);
+            LISTENERS.forEach(l -> l.opened().accept(store));
+            return store;
+        }
+    }
+
+    /** 이미 열린 저장소와 이후 생성될 저장소마다 opened, 닫힐 때 closed 호출 */
+    static void forEachStore(Consumer<ExpiringStore<?, ?>> opened, Consumer<ExpiringStore<?, ?>> closed) {
+        synchronized (STORES) {
+            STORES.values().forEach(opened);
+            LISTENERS.add(new Listener(opened, closed));
+        }
+    }
+
+    /** sweeper/메트릭 등록 해제 후 비움. 이후 이 이름은 다시 쓸 수 있다 */
+    public void close() {
+        synchronized (STORES) {
+            if (!STORES.remove(name, this)) return;
+            LISTENERS.forEach(l -> l.closed().accept(this));
+        }
+        entries.clear();
+        wheel.forEach(Set::clear);
+    }
+
+    /** 실제 등록된 이름 (중복이면 접미사 포함) */
+    public String name() { return name; }
+
+    /** 저장했으면 true (가득 차서 새 키를 받지 못하면 false) */
+    public boolean put(K key, V value, Instant expiresAt) {
+        if (isFullFor(key)) return false;
+        long exp = expiresAt.toEpochMilli();
+        Node<K, V> node = new Node<>(key, value, exp);
+        entries.put(key, node);
+        // 덮어쓴 이전 노드는 버킷에 남아 있다가 sweep 때 무시된다
+        wheel.get(slot(exp)).add(node);
+        return true;
+    }
+
+    public boolean put(K key, V value, Duration ttl) {
+        return put(key, value, Instant.now().plus(ttl));
+    }
+
+    /**
+     * 유효한 값이 없을 때만 저장. 이미 있으면 그 값을 반환 (저장했거나 가득 차서 못 했으면 null).
+     * 조회 후 로딩한 값을 넣을 때 그 사이에 들어온 더 새 값을 덮어쓰지 않기 위해 사용.
+     */
+    public V putIfAbsent(K key, V value, Duration ttl) {
+        if (isFullFor(key)) return null;
+        long exp = Instant.now().plus(ttl).toEpochMilli();
+        Node<K, V> node = new Node<>(key, value, exp);
+        long now = System.currentTimeMillis();
+        Node<K, V> cur = entries.compute(key, (k, old) ->
+                old != null && old.expiresAtMillis > now ? old : node);
+        if (cur != node) return cur.value;
+        wheel.get(slot(exp)).add(node);
+        return null;
+    }
+
+    /** 만료됐거나 없으면 null */
+    public V get(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node == null) return null;
+        if (node.expiresAtMillis <= System.currentTimeMillis()) {
+            expire(node);
+            return null;
+        }
+        return node.value;
+    }
+
+    private boolean isFullFor(K key) {
+        return maxEntries > 0 && entries.size() >= maxEntries && !entries.containsKey(key);
+    }
+
+    public V remove(K key) {
+        Node<K, V> node = entries.remove(key);
+        if (node == null) return null;
+        wheel.get(slot(node.expiresAtMillis)).remove(node);
+        return node.value;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** 만료되지 않은 값마다 호출 (순회 중 변경 허용) */
+    public void forEachValue(Consumer<? super V> action) {
+        long now = System.currentTimeMillis();
+        for (Node<K, V> node : entries.values()) {
+            if (node.expiresAtMillis > now) action.accept(node.value);
+        }
+    }
+
+    /** 만료로 제거된 누적 건수 */
+    public long expiredCount() {
+        return expired.get();
+    }
+
+    /** now 까지 지나간 tick 의 버킷을 처리 */
+    void advance(long now) {
+        long target = now / tickMs;
+        // 오래 멈춰 있었으면 한 바퀴만 돌면 충분
+        long from = Math.max(currentTick, target - wheel.size() + 1);
+        for (long t = from; t <= target; t++) {
+            sweepBucket(wheel.get((int) Math.floorMod(t, (long) wheel.size())), now);
+        }
+        currentTick = target;
+    }
+
+    private void sweepBucket(Set<Node<K, V>> bucket, long now) {
+        Iterator<Node<K, V>> it = bucket.iterator();
+        while (it.hasNext()) {
+            Node<K, V> node = it.next();
+            if (entries.get(node.key) != node) {
+                it.remove(); // 덮어쓰였거나 이미 제거됨
+            } else if (node.expiresAtMillis <= now) {
+                it.remove();
+                if (entries.remove(node.key, node)) expired.incrementAndGet();
+            }
+            // 그 외는 다음 바퀴에 만료될 항목
+        }
+    }
+
+    private void expire(Node<K, V> node) {
+        if (entries.remove(node.key, node)) {
+            expired.incrementAndGet();
+            wheel.get(slot(node.expiresAtMillis)).remove(node);
+        }
+    }
+
+    private int slot(long expiresAtMillis) {
+        return (int) Math.floorMod(expiresAtMillis / tickMs, (long) wheel.size());
+    }
+}
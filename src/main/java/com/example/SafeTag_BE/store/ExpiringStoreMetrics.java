@@ -0,0 +1,29 @@
+package com.example.SafeTag_BE.store;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/** ExpiringStore 별 크기/만료 건수를 actuator 메트릭으로 노출 */
+@Component
+public class ExpiringStoreMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ExpiringStore.forEachStore(store -> {
+            Gauge.builder("safetag.store.size", store, ExpiringStore::size)
+                    .tag("store", store.name())
+                    .register(registry);
+            FunctionCounter.builder("safetag.store.expired", store, ExpiringStore::expiredCount)
+                    .tag("store", store.name())
+                    .register(registry);
+        }, store -> {
+            // 닫힌 저장소를 게이지가 계속 붙잡지 않도록
+            for (Meter m : registry.find("safetag.store.size").tag("store", store.name()).meters()) registry.remove(m);
+            for (Meter m : registry.find("safetag.store.expired").tag("store", store.name()).meters()) registry.remove(m);
+        });
+    }
+}
@@ -2,17 +2,15 @@ package com.example.SafeTag_BE.store;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class InMemoryStore {
     // verifyId -> status
-    public static final Map<String, String> VERIFY = new ConcurrentHashMap<>();
+    public static final ExpiringStore<String, String> VERIFY = ExpiringStore.create("verify");
     // stickerId -> expiresAt
-    public static final Map<String, Instant> STICKERS = new ConcurrentHashMap<>();
+    public static final ExpiringStore<String, Instant> STICKERS = ExpiringStore.create("stickers");
     // otp -> expiresAt
-    public static final Map<String, Instant> OTP = new ConcurrentHashMap<>();
+    public static final ExpiringStore<String, Instant> OTP = ExpiringStore.create("otp");
 
     public static String newId() { return UUID.randomUUID().toString(); }
     public static Instant plusDays(int d) { return Instant.now().plus(d, ChronoUnit.DAYS); }
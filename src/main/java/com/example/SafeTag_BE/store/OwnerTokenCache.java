@@ -0,0 +1,98 @@
+package com.example.SafeTag_BE.store;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ownerId -> 활성 FCM 토큰 집합.
+ * 죽은 토큰은 전송 결과를 받는 즉시 빠지므로, 차주 한 명에게 보내는 푸시 수는
+ * 살아 있는 기기 수만큼만 든다.
+ * <p>
+ * 항목은 TTL 이 지나면 DB 에서 다시 읽고, 최대 차주 수를 넘으면 새 차주는 캐시하지 않는다.
+ * 토큰이 바뀔 때마다 version 이 올라가며, 그 사이에 DB 에서 읽은 값은 캐시에 넣지 않는다.
+ */
+@Component
+public class OwnerTokenCache {
+
+    private final ExpiringStore<Long, Set<String>> byOwner;
+    private final Duration ttl;
+    // 토큰 추가/제거 횟수 (로딩 중 변경 감지용)
+    private final AtomicLong version = new AtomicLong();
+
+    public OwnerTokenCache(MeterRegistry registry,
+                           @Value("${app.push.token-cache.ttl-seconds:600}") long ttlSeconds,
+                           @Value("${app.push.token-cache.max-owners:50000}") int maxOwners) {
+        this.ttl = Duration.ofSeconds(Math.max(1L, ttlSeconds));
+        this.byOwner = ExpiringStore.create("owner-tokens", Math.max(1, maxOwners));
+        Gauge.builder("safetag.push.token.cache.owners", byOwner, ExpiringStore::size).register(registry);
+    }
+
+    /** 캐시에 없으면 null */
+    public Set<String> get(Long ownerId) {
+        return ownerId == null ? null : byOwner.get(ownerId);
+    }
+
+    /** DB 에서 읽기 전에 받아 두고 {@link #putLoaded} 에 넘긴다 */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * DB 에서 읽은 토큰을 캐시. 그 사이 토큰이 바뀌었으면 캐시하지 않고,
+     * 다른 스레드가 먼저 넣었으면 그 값을 반환한다.
+     */
+    public Set<String> putLoaded(Long ownerId, Collection<String> tokens, long seenVersion) {
+        Set<String> set = ConcurrentHashMap.newKeySet();
+        for (String t : tokens) {
+            if (t != null && !t.isBlank()) set.add(t);
+        }
+        if (version.get() != seenVersion) return set;
+        Set<String> cur = byOwner.putIfAbsent(ownerId, set, ttl);
+        if (cur != null) return cur;
+        // 넣는 사이에 바뀌었으면 방금 넣은 값은 믿을 수 없음
+        if (version.get() != seenVersion) byOwner.remove(ownerId);
+        return set;
+    }
+
+    /** 캐시된 차주에게만 토큰 추가 (없으면 다음 조회 때 DB 에서 읽음) */
+    public void addToken(Long ownerId, String token) {
+        version.incrementAndGet();
+        Set<String> set = get(ownerId);
+        if (set != null) set.add(token);
+    }
+
+    public void removeToken(Long ownerId, String token) {
+        version.incrementAndGet();
+        Set<String> set = ownerId == null ? null : byOwner.get(ownerId);
+        if (set != null) {
+            set.remove(token);
+        } else if (ownerId == null) {
+            removeTokens(Set.of(token));
+        }
+    }
+
+    /** 소유자를 모를 때: 전체에서 제거 */
+    public void removeTokens(Collection<String> tokens) {
+        version.incrementAndGet();
+        byOwner.forEachValue(set -> set.removeAll(tokens));
+    }
+
+    public void evict(Long ownerId) {
+        version.incrementAndGet();
+        if (ownerId != null) byOwner.remove(ownerId);
+    }
+
+    @PreDestroy
+    void close() {
+        byOwner.close();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.SafeTag_BE.store;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * qrId -> 렌더링된 PNG 바이트 캐시.
+ * QR 만료 시각까지만 보관하고, 최대 개수를 넘으면 가장 먼저 만료될 항목부터 밀어낸다.
+ * 만료 시각도 같이 들고 있어서 이미지 요청은 히트면 DB 를 거치지 않는다.
+ */
+@Component
+public class QrImageCache {
+
+    /** 캐시된 이미지와 QR 만료 시각 */
+    public record CachedImage(byte[] png, LocalDateTime expiredAt) {}
+
+    private record Entry(CachedImage image, long expiresAtMillis) {
+        boolean isExpired(long now) { return expiresAtMillis <= now; }
+    }
+
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public QrImageCache(MeterRegistry registry,
+                        @Value("${app.qr.image-cache.max-entries:4096}") int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.hits = Counter.builder("safetag.qr.image.cache")
+                .tag("result", "hit").register(registry);
+        this.misses = Counter.builder("safetag.qr.image.cache")
+                .tag("result", "miss").register(registry);
+        this.evictions = Counter.builder("safetag.qr.image.cache.evictions").register(registry);
+        Gauge.builder("safetag.qr.image.cache.size", cache, Map::size).register(registry);
+    }
+
+    /** 캐시된 이미지 반환(없거나 만료면 null) */
+    public CachedImage get(Long qrId) {
+        if (qrId == null) return null;
+        Entry e = cache.get(qrId);
+        if (e == null) {
+            misses.increment();
+            return null;
+        }
+        if (e.isExpired(System.currentTimeMillis())) {
+            if (cache.remove(qrId, e)) evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return e.image();
+    }
+
+    /** 조회 통계 없이 유효한 항목이 있는지만 확인 */
+    public boolean contains(Long qrId) {
+        Entry e = qrId == null ? null : cache.get(qrId);
+        return e != null && !e.isExpired(System.currentTimeMillis());
+    }
+
+    public void put(Long qrId, byte[] png, LocalDateTime expiredAt) {
+        if (qrId == null || png == null || expiredAt == null) return;
+        long exp = expiredAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (exp <= System.currentTimeMillis()) return;
+
+        cache.put(qrId, new Entry(new CachedImage(png, expiredAt), exp));
+        if (cache.size() > maxEntries) trim();
+    }
+
+    public void evict(Long qrId) {
+        if (qrId != null && cache.remove(qrId) != null) evictions.increment();
+    }
+
+    // 만료 항목 정리 (조회되지 않는 QR도 메모리에서 빠지도록)
+    @Scheduled(fixedDelayString = "${app.qr.image-cache.sweep-ms:15000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        cache.forEach((k, e) -> {
+            if (e.isExpired(now) && cache.remove(k, e)) evictions.increment();
+        });
+    }
+
+    private synchronized void trim() {
+        sweep();
+        int over = cache.size() - maxEntries;
+        if (over <= 0) return;
+        // 남은 시간이 가장 짧은 것부터 제거
+        cache.entrySet().stream()
+                .sorted(Comparator.comparingLong(en -> en.getValue().expiresAtMillis()))
+                .limit(over)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(this::evict);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.SafeTag_BE.store;
+
+import com.example.SafeTag_BE.entity.DynamicQR;
+import com.example.SafeTag_BE.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * qrValue -> (qrId, 차주 정보, 만료시각) 캐시.
+ * 스캔 경로에서 DB 조회와 User 지연 로딩을 생략하기 위해 사용하며,
+ * 항목은 QR 의 expiredAt 이 지나는 순간부터 조회되지 않는다.
+ */
+@Component
+public class QrLookupCache {
+
+    public record QrLookup(
+            Long qrId,
+            String qrValue,
+            Long ownerId,
+            String ownerName,
+            String ownerUsername,
+            String ownerPhoneNum,
+            LocalDateTime expiredAt
+    ) {
+        public static QrLookup of(DynamicQR qr) {
+            User u = qr.getUser();
+            return new QrLookup(
+                    qr.getId(),
+                    qr.getQrValue(),
+                    u != null ? u.getId() : null,
+                    u != null ? u.getName() : null,
+                    u != null ? u.getUsername() : null,
+                    u != null ? u.getPhoneNum() : null,
+                    qr.getExpiredAt()
+            );
+        }
+
+        public boolean isExpired(LocalDateTime now) {
+            return expiredAt != null && expiredAt.isBefore(now);
+        }
+    }
+
+    private final Map<String, QrLookup> cache = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public QrLookupCache(MeterRegistry registry,
+                         @Value("${app.qr.lookup-cache.max-entries:16384}") int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.hits = Counter.builder("safetag.qr.lookup.cache")
+                .tag("result", "hit").register(registry);
+        this.misses = Counter.builder("safetag.qr.lookup.cache")
+                .tag("result", "miss").register(registry);
+        Gauge.builder("safetag.qr.lookup.cache.size", cache, Map::size).register(registry);
+    }
+
+    /** 유효한 항목만 반환(없거나 만료면 null) */
+    public QrLookup get(String qrValue) {
+        if (qrValue == null) return null;
+        QrLookup e = cache.get(qrValue);
+        if (e != null && e.isExpired(LocalDateTime.now())) {
+            cache.remove(qrValue, e);
+            e = null;
+        }
+        if (e == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return e;
+    }
+
+    /** 만료되지 않은 QR 만 캐시 */
+    public void put(QrLookup lookup) {
+        if (lookup == null || lookup.qrValue() == null || lookup.expiredAt() == null) return;
+        if (lookup.isExpired(LocalDateTime.now())) return;
+        if (cache.size() >= maxEntries) {
+            sweep();
+            if (cache.size() >= maxEntries) return;
+        }
+        cache.put(lookup.qrValue(), lookup);
+    }
+
+    /** 차주 정보(이름/연락처 등)가 바뀌었을 때 해당 차주의 항목 제거 */
+    public void evictOwner(Long ownerId) {
+        if (ownerId == null) return;
+        cache.values().removeIf(e -> ownerId.equals(e.ownerId()));
+    }
+
+    // 만료 항목 정리
+    @Scheduled(fixedDelayString = "${app.qr.lookup-cache.sweep-ms:15000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        cache.values().removeIf(e -> e.isExpired(now));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 시그널링 바이너리 프레임 (서브프로토콜 {@value #SUBPROTOCOL}).
+ * <pre>
+ * [0]      버전 (1)
+ * [1]      type 코드 (0 이면 바로 뒤에 u8 길이 + type 문자열)
+ * [2..3]   sessionId 바이트 길이 (u16, big-endian)
+ * [..]     sessionId (UTF-8)
+ * [..]     본문: sdp / candidate / candidates 값의 JSON (UTF-8, 없으면 생략)
+ * </pre>
+ * 봉투의 키/따옴표를 없애고 type 을 1바이트로 줄인 형태이며, 의미는 JSON 프로토콜과 같다.
+ * ice 의 end-of-candidates 는 본문 없는 ice 프레임으로 보낸다.
+ * 본문은 JSON 값 정확히 하나여야 하며, 아니면 decode/toJson 에서 거부한다
+ * (다른 피어에게 가는 JSON 에 필드를 끼워 넣거나 프레임을 깨뜨리지 못하도록).
+ */
+public final class BinarySignalCodec {
+
+    public static final String SUBPROTOCOL = "safetag.signal.bin.v1";
+
+    private static final byte VERSION = 1;
+    private static final JsonFactory JSON = new JsonFactory();
+    // 인덱스 = type 코드 (0 은 문자열 type)
+    private static final String[] TYPES = {
+            null, "join", "ack", "joined", "left", "offer", "answer", "ice", "ice-batch"
+    };
+
+    public record Frame(String type, String sessionId, String body) {}
+
+    private BinarySignalCodec() {}
+
+    public static ByteBuffer encode(Frame f) {
+        byte[] room = f.sessionId().getBytes(StandardCharsets.UTF_8);
+        byte[] body = f.body() == null ? new byte[0] : f.body().getBytes(StandardCharsets.UTF_8);
+        int code = codeOf(f.type());
+        byte[] type = code == 0 ? f.type().getBytes(StandardCharsets.UTF_8) : null;
+        if (room.length > 0xFFFF || (type != null && type.length > 0xFF)) {
+            throw new IllegalArgumentException("frame header too long");
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(4 + (type != null ? 1 + type.length : 0) + room.length + body.length);
+        buf.put(VERSION).put((byte) code);
+        if (type != null) buf.put((byte) type.length).put(type);
+        buf.putShort((short) room.length).put(room).put(body);
+        buf.flip();
+        return buf;
+    }
+
+    /** 잘못된 프레임이면 IllegalArgumentException */
+    public static Frame decode(ByteBuffer in) {
+        ByteBuffer b = in.duplicate();
+        try {
+            if (b.get() != VERSION) throw new IllegalArgumentException("unsupported frame version");
+            int code = b.get() & 0xFF;
+            String type;
+            if (code == 0) {
+                type = utf8(b, b.get() & 0xFF);
+            } else if (code < TYPES.length) {
+                type = TYPES[code];
+            } else {
+                throw new IllegalArgumentException("unknown type code " + code);
+            }
+            String room = utf8(b, b.getShort() & 0xFFFF);
+            String body = b.hasRemaining() ? utf8(b, b.remaining()) : null;
+            if (body != null) requireSingleValue(body);
+            return new Frame(type, room, body);
+        } catch (java.nio.BufferUnderflowException e) {
+            throw new IllegalArgumentException("truncated frame");
+        }
+    }
+
+    /** JSON 프로토콜 메시지를 프레임으로 (본문은 원문 그대로 잘라 씀) */
+    public static Frame fromJson(JsonFactory factory, String payload) throws IOException {
+        SignalEnvelope env = SignalEnvelope.read(factory, payload, true);
+        if (env == null || env.type() == null || env.sessionId() == null) return null;
+        return new Frame(env.type(), env.sessionId(), env.body());
+    }
+
+    /** 본문이 JSON 값 하나가 아니면 IllegalArgumentException */
+    public static String toJson(Frame f) {
+        String field = bodyField(f.type());
+        StringWriter out = new StringWriter(48 + (f.body() != null ? f.body().length() : 0));
+        try (JsonGenerator g = JSON.createGenerator(out)) {
+            g.writeStartObject();
+            g.writeStringField("type", f.type());
+            g.writeStringField("sessionId", f.sessionId());
+            if (field != null) {
+                g.writeFieldName(field);
+                if (f.body() == null) {
+                    g.writeNull();
+                } else {
+                    requireSingleValue(f.body());
+                    g.writeRawValue(f.body());
+                }
+            }
+            g.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    // 본문 전체가 JSON 값 하나인지 (뒤에 다른 내용이 붙거나 괄호가 안 맞으면 거부)
+    private static void requireSingleValue(String body) {
+        try (JsonParser p = JSON.createParser(body)) {
+            if (p.nextToken() == null) throw new IllegalArgumentException("empty frame body");
+            p.skipChildren();
+            if (p.nextToken() != null) throw new IllegalArgumentException("trailing data in frame body");
+        } catch (IOException e) {
+            throw new IllegalArgumentException("invalid frame body: " + e.getMessage());
+        }
+    }
+
+    // dispatch 와 같이 대소문자 무시
+    private static String bodyField(String type) {
+        return switch (type.toLowerCase(Locale.ROOT)) {
+            case "offer", "answer" -> "sdp";
+            case "ice" -> "candidate";
+            case "ice-batch" -> "candidates";
+            default -> null;
+        };
+    }
+
+    private static int codeOf(String type) {
+        for (int i = 1; i < TYPES.length; i++) {
+            if (TYPES[i].equals(type)) return i;
+        }
+        return 0;
+    }
+
+    private static String utf8(ByteBuffer b, int len) {
+        byte[] bytes = new byte[len];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
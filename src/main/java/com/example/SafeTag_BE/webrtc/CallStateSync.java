@@ -0,0 +1,71 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.example.SafeTag_BE.entity.CallState;
+import com.example.SafeTag_BE.service.CallSessionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시그널링 -> call_session 상태 반영 큐.
+ * 수신 스레드에서는 세션별 최신 상태만 기록하고, 주기적으로 모아서 한 트랜잭션으로 저장한다.
+ */
+@Slf4j
+@Component
+public class CallStateSync {
+
+    private final CallSessionService callSessionService;
+    // sessionUuid -> 반영할 상태 (같은 세션은 더 진행된 상태로 합침)
+    private final Map<String, CallState> pending = new ConcurrentHashMap<>();
+
+    private final Counter written;
+    private final Counter failures;
+
+    public CallStateSync(CallSessionService callSessionService, MeterRegistry registry) {
+        this.callSessionService = callSessionService;
+        this.written = Counter.builder("safetag.signaling.callstate.writes").register(registry);
+        this.failures = Counter.builder("safetag.signaling.callstate.failures").register(registry);
+        Gauge.builder("safetag.signaling.callstate.pending", pending, Map::size).register(registry);
+    }
+
+    public void enqueue(String sessionUuid, CallState state) {
+        pending.merge(sessionUuid, state, CallStateSync::later);
+    }
+
+    public void end(String sessionUuid, boolean ok) {
+        enqueue(sessionUuid, ok ? CallState.ENDED : CallState.FAILED);
+    }
+
+    @Scheduled(fixedDelayString = "${signaling.state-flush-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+        Map<String, CallState> batch = new HashMap<>();
+        for (String key : new ArrayList<>(pending.keySet())) {
+            CallState s = pending.remove(key);
+            if (s != null) batch.put(key, s);
+        }
+        try {
+            callSessionService.applyStates(batch);
+            written.increment(batch.size());
+        } catch (Exception e) {
+            // 다음 주기에 다시 시도
+            failures.increment();
+            log.warn("[SIGNALING] call_session 상태 반영 실패 ({}건): {}", batch.size(), e.toString());
+            batch.forEach(this::enqueue);
+        }
+    }
+
+    // 종료 상태가 먼저 들어왔으면 유지, 그 외에는 더 진행된 상태
+    private static CallState later(CallState cur, CallState next) {
+        if (CallSessionService.isTerminal(cur)) return cur;
+        return next.ordinal() >= cur.ordinal() ? next : cur;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.example.SafeTag_BE.config.SignalingProperties;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 발신 세션별 ICE candidate 묶음 전달 (signaling.ice-batch.enabled).
+ * <p>
+ * 첫 candidate 이후 windowMs 동안, 또는 maxCandidates 개가 차거나 end-of-candidates 가
+ * 올 때까지 모아서 하나의 프레임으로 보낸다.
+ * <pre>{"type":"ice-batch","sessionId":"...","candidates":[{...},{...},null]}</pre>
+ * 배열의 null 은 end-of-candidates 를 뜻한다.
+ */
+@Component
+public class IceBatcher {
+
+    /** 묶인 프레임을 받을 곳 (방의 다른 참가자에게 전달) */
+    public interface Sink {
+        void deliver(String room, WebSocketSession from, TextMessage frame);
+    }
+
+    private static final class Batch {
+        final String room;
+        final WebSocketSession from;
+        final List<String> candidates = new ArrayList<>();
+        final long startedNanos = System.nanoTime();
+        ScheduledFuture<?> timer;
+        boolean closed;
+
+        Batch(String room, WebSocketSession from) {
+            this.room = room;
+            this.from = from;
+        }
+    }
+
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxCandidates;
+
+    private final Map<String, Batch> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ice-batcher");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile Sink sink = (room, from, frame) -> {};
+
+    private final DistributionSummary batchSize;
+    private final Timer addedDelay;
+
+    public IceBatcher(SignalingProperties props, MeterRegistry registry) {
+        SignalingProperties.IceBatch c = props.getIceBatch();
+        this.enabled = c.isEnabled();
+        this.windowMs = Math.max(1, c.getWindowMs());
+        this.maxCandidates = Math.max(1, c.getMaxCandidates());
+
+        this.batchSize = DistributionSummary.builder("safetag.signaling.ice.batch.size").register(registry);
+        // 첫 candidate 수신부터 묶음 전달까지 추가된 지연
+        this.addedDelay = Timer.builder("safetag.signaling.ice.batch.delay").register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void onFlush(Sink sink) {
+        this.sink = sink;
+    }
+
+    /** candidate 는 원문 JSON (end-of-candidates 면 null 가능) */
+    public void add(WebSocketSession from, String room, String candidate, boolean endOfCandidates) {
+        String key = from.getId();
+        while (true) {
+            Batch b = pending.computeIfAbsent(key, k -> new Batch(room, from));
+            Batch ready = null;
+            boolean added = false;
+            synchronized (b) {
+                if (b.closed) continue; // 방금 전달된 묶음: 새 묶음으로 재시도
+                if (!b.room.equals(room)) {
+                    ready = close(key, b); // 방이 바뀌면 이전 묶음 먼저 전달
+                } else {
+                    b.candidates.add(endOfCandidates ? null : candidate);
+                    added = true;
+                    if (endOfCandidates || b.candidates.size() >= maxCandidates) {
+                        ready = close(key, b);
+                    } else if (b.timer == null) {
+                        b.timer = timer.schedule(() -> flush(key, b), windowMs, TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+            if (ready != null) emit(ready);
+            if (added) return;
+        }
+    }
+
+    /** 발신자의 대기 중인 묶음을 즉시 전달 (다른 메시지보다 순서가 밀리지 않도록) */
+    public void flush(WebSocketSession from) {
+        Batch b = pending.get(from.getId());
+        if (b != null) flush(from.getId(), b);
+    }
+
+    private void flush(String key, Batch b) {
+        Batch ready;
+        synchronized (b) {
+            if (b.closed) return;
+            ready = close(key, b);
+        }
+        emit(ready);
+    }
+
+    // b 의 모니터를 잡은 상태에서 호출
+    private Batch close(String key, Batch b) {
+        b.closed = true;
+        pending.remove(key, b);
+        if (b.timer != null) b.timer.cancel(false);
+        return b;
+    }
+
+    private void emit(Batch b) {
+        if (b.candidates.isEmpty()) return;
+        StringBuilder sb = new StringBuilder(64 + b.candidates.size() * 160);
+        sb.append("{\"type\":\"ice-batch\",\"sessionId\":\"");
+        JsonStringEncoder.getInstance().quoteAsString(b.room, sb);
+        sb.append("\",\"candidates\":[");
+        for (int i = 0; i < b.candidates.size(); i++) {
+            if (i > 0) sb.append(',');
+            String c = b.candidates.get(i);
+            sb.append(c == null ? "null" : c);
+        }
+        sb.append("]}");
+
+        batchSize.record(b.candidates.size());
+        addedDelay.record(System.nanoTime() - b.startedNanos, TimeUnit.NANOSECONDS);
+        sink.deliver(b.room, b.from, new TextMessage(sb.toString()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.SafeTag_BE.webrtc;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/** 단일 노드용: 방은 JVM 안에서만 관리 */
+@Component
+@ConditionalOnProperty(prefix = "signaling.cluster", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class LocalSignalingCluster implements SignalingCluster {
+
+    @Override
+    public void joined(String room) {}
+
+    @Override
+    public void left(String room, boolean lastLocal) {}
+
+    @Override
+    public void publish(String room, String payload) {}
+
+    @Override
+    public boolean publishes() {
+        return false;
+    }
+
+    @Override
+    public int remoteMembers(String room) {
+        return 0;
+    }
+
+    @Override
+    public void onRemoteMessage(BiConsumer<String, String> listener) {}
+
+    @Override
+    public void onPresenceChange(Consumer<String> listener) {}
+}
@@ -0,0 +1,67 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * 보낼 시그널 하나. 받는 세션의 프로토콜(JSON / 바이너리)에 맞는 형태를
+ * 처음 필요할 때 한 번만 만들고, 이후 같은 방의 다른 세션에는 재사용한다.
+ */
+final class OutFrame {
+
+    private final JsonFactory factory;
+    private TextMessage text;
+    private BinarySignalCodec.Frame frame;
+    private BinaryMessage binary;
+    private boolean invalid;
+
+    private OutFrame(JsonFactory factory, TextMessage text, BinarySignalCodec.Frame frame) {
+        this.factory = factory;
+        this.text = text;
+        this.frame = frame;
+    }
+
+    static OutFrame of(JsonFactory factory, TextMessage text) {
+        return new OutFrame(factory, text, null);
+    }
+
+    static OutFrame of(JsonFactory factory, BinarySignalCodec.Frame frame) {
+        return new OutFrame(factory, null, frame);
+    }
+
+    /** 세션에 맞는 메시지 (변환 불가면 null) */
+    WebSocketMessage<?> forSession(WebSocketSession s) {
+        return BinarySignalCodec.SUBPROTOCOL.equals(s.getAcceptedProtocol()) ? binary() : text();
+    }
+
+    synchronized TextMessage text() {
+        if (text == null && frame != null && !invalid) {
+            try {
+                text = new TextMessage(BinarySignalCodec.toJson(frame));
+            } catch (IllegalArgumentException e) {
+                // 본문이 JSON 값 하나가 아니면 전달하지 않음
+                invalid = true;
+            }
+        }
+        return text;
+    }
+
+    synchronized BinaryMessage binary() {
+        if (binary == null && !invalid) {
+            try {
+                if (frame == null) frame = BinarySignalCodec.fromJson(factory, text.getPayload());
+                if (frame == null) {
+                    invalid = true;
+                    return null;
+                }
+                binary = new BinaryMessage(BinarySignalCodec.encode(frame));
+            } catch (Exception e) {
+                invalid = true;
+            }
+        }
+        return binary;
+    }
+}
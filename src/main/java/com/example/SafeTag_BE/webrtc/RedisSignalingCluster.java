@@ -0,0 +1,306 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.example.SafeTag_BE.config.SignalingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Redis 기반 방 공유.
+ * <ul>
+ *   <li>디렉터리: hash {prefix}{room} = nodeId -> 해당 노드의 참가자 수</li>
+ *   <li>하트비트: {nodeKeyPrefix}{nodeId} (TTL = 하트비트 주기 x 3)</li>
+ *   <li>릴레이: 채널 {prefix}{room}, 메시지 = "nodeId\n" + payload</li>
+ * </ul>
+ * 노드는 자기 참가자가 있는 방의 채널만 구독하고, 자기가 보낸 메시지는 무시한다.
+ * 디렉터리는 참가/이탈 때와 하트비트마다 다시 읽어 "다른 노드 참가자 수" 로 들고 있고, 그 값이 0 이면
+ * publish 를 생략한다 (통화 상태 판단에도 사용). 참가/이탈은 채널에 presence 메시지로 알려
+ * 다른 노드가 디렉터리를 다시 읽게 한다. 하트비트 키가 없는 노드의 항목은 죽은 노드로 보고
+ * 읽을 때 지우므로, 노드가 정리 없이 죽어도 참가자 수가 계속 남지 않는다.
+ * <p>
+ * 구독은 비동기로 확정되므로, 구독 확인(또는 타임아웃) 뒤에야 디렉터리에 등록하고 presence 를 알린다.
+ * 다른 노드는 등록을 본 뒤부터 이 노드로 publish 하므로 구독 전에 보낸 프레임을 놓치지 않는다.
+ * 확인을 기다리는 동안 어떤 스레드도 막지 않는다.
+ * Redis 호출은 전용 단일 스레드에서 순서대로 처리하므로 수신 스레드를 막지 않으며,
+ * Redis 장애 시에도 같은 노드 안의 시그널링은 계속 동작한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "signaling.cluster", name = "enabled", havingValue = "true")
+public class RedisSignalingCluster implements SignalingCluster, MessageListener, SubscriptionListener {
+
+    // 참가/이탈 알림 (payload 로는 나올 수 없는 값)
+    private static final String PRESENCE = "\u0000presence";
+    private static final long SUBSCRIBE_WAIT_MS = 2000;
+
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer container;
+    private final String nodeId;
+    private final String prefix;
+    private final String nodeKeyPrefix;
+    private final Duration roomTtl;
+    private final Duration nodeTtl;
+
+    // 순서 보장(offer -> ice)을 위해 단일 스레드 (하트비트도 같은 스레드)
+    private final ScheduledExecutorService io = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "signaling-cluster");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 이 노드가 구독 중인 방 채널
+    private final Map<String, ChannelTopic> subscribed = new ConcurrentHashMap<>();
+    // 채널 -> 구독 확정
+    private final Map<String, CompletableFuture<Void>> subscriptions = new ConcurrentHashMap<>();
+    // 방 -> 다른 노드 참가자 수 (디렉터리 사본)
+    private final Map<String, Integer> remote = new ConcurrentHashMap<>();
+    // 방 -> 디렉터리에 등록한 이 노드 참가자 수 (io 스레드 전용)
+    private final Map<String, Integer> registered = new HashMap<>();
+    private volatile BiConsumer<String, String> listener = (room, payload) -> {};
+    private volatile Consumer<String> presenceListener = room -> {};
+
+    private final Counter relayedOut;
+    private final Counter relayedIn;
+    private final Counter failures;
+    private final Counter skipped;
+
+    public RedisSignalingCluster(SignalingProperties props,
+                                 RedisConnectionFactory connectionFactory,
+                                 StringRedisTemplate redis,
+                                 MeterRegistry registry) {
+        SignalingProperties.Cluster c = props.getCluster();
+        this.redis = redis;
+        this.nodeId = (c.getNodeId() == null || c.getNodeId().isBlank())
+                ? UUID.randomUUID().toString().substring(0, 8) : c.getNodeId();
+        this.prefix = c.getKeyPrefix();
+        this.nodeKeyPrefix = c.getNodeKeyPrefix();
+        this.roomTtl = Duration.ofSeconds(Math.max(60, c.getRoomTtlSeconds()));
+        long heartbeat = Math.max(1, c.getHeartbeatSeconds());
+        this.nodeTtl = Duration.ofSeconds(heartbeat * 3);
+
+        this.container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+
+        // 노드별 릴레이 카운터
+        this.relayedOut = Counter.builder("safetag.signaling.cluster.relay")
+                .tag("node", nodeId).tag("direction", "out").register(registry);
+        this.relayedIn = Counter.builder("safetag.signaling.cluster.relay")
+                .tag("node", nodeId).tag("direction", "in").register(registry);
+        this.failures = Counter.builder("safetag.signaling.cluster.failures")
+                .tag("node", nodeId).register(registry);
+        // 다른 노드에 참가자가 없어 생략한 publish
+        this.skipped = Counter.builder("safetag.signaling.cluster.relay.skipped")
+                .tag("node", nodeId).register(registry);
+        Gauge.builder("safetag.signaling.cluster.rooms", subscribed, Map::size)
+                .tag("node", nodeId).register(registry);
+
+        // 첫 하트비트가 어떤 방 등록보다 먼저 실행됨 (같은 단일 스레드)
+        io.scheduleWithFixedDelay(() -> guarded(this::heartbeat), 0, heartbeat, TimeUnit.SECONDS);
+        log.info("[SIGNALING] cluster mode node={}", nodeId);
+    }
+
+    @Override
+    public void joined(String room) {
+        String channel = prefix + room;
+        CompletableFuture<Void> confirmed = subscriptions.computeIfAbsent(channel, ch -> {
+            CompletableFuture<Void> f = new CompletableFuture<>();
+            f.orTimeout(SUBSCRIBE_WAIT_MS, TimeUnit.MILLISECONDS).exceptionally(e -> {
+                log.warn("[SIGNALING] subscribe not confirmed in {}ms: {}", SUBSCRIBE_WAIT_MS, ch);
+                return null;
+            });
+            return f;
+        });
+        subscribed.computeIfAbsent(room, r -> {
+            ChannelTopic topic = new ChannelTopic(channel);
+            container.addMessageListener(this, topic);
+            return topic;
+        });
+        // 다른 노드 참가자 수는 구독과 상관없이 바로 읽어 둔다 (직후 offer 가 생략되지 않도록)
+        run(() -> refresh(room));
+        // 구독이 확정(또는 타임아웃)되면 등록. 이미 확정됐으면 바로 큐에 들어가 순서가 유지된다
+        confirmed.whenComplete((v, e) -> run(() -> register(room, confirmed)));
+    }
+
+    // 구독 확정 전에 등록하면 그 사이 다른 노드가 보낸 프레임을 놓칠 수 있음 (io 스레드)
+    private void register(String room, CompletableFuture<Void> confirmed) {
+        String channel = prefix + room;
+        // 기다리는 사이 이 노드에서 방이 비었으면 (또는 다시 만들어졌으면) 등록하지 않음
+        if (subscriptions.get(channel) != confirmed) return;
+        writeCount(room, registered.merge(room, 1, Integer::sum));
+        refresh(room);
+        redis.convertAndSend(channel, nodeId + "\n" + PRESENCE);
+    }
+
+    @Override
+    public void left(String room, boolean lastLocal) {
+        String channel = prefix + room;
+        if (lastLocal) {
+            ChannelTopic topic = subscribed.remove(room);
+            if (topic != null) container.removeMessageListener(this, topic);
+            subscriptions.remove(channel);
+            remote.remove(room);
+        }
+        run(() -> {
+            if (lastLocal) {
+                registered.remove(room);
+                redis.opsForHash().delete(channel, nodeId);
+            } else {
+                writeCount(room, registered.merge(room, -1, Integer::sum));
+            }
+            redis.convertAndSend(channel, nodeId + "\n" + PRESENCE);
+        });
+    }
+
+    // 증감 대신 절대값으로 써서, 지워졌던 항목도 다음 쓰기/하트비트 때 복구된다
+    private void writeCount(String room, int count) {
+        String channel = prefix + room;
+        redis.opsForHash().put(channel, nodeId, String.valueOf(Math.max(0, count)));
+        redis.expire(channel, roomTtl);
+    }
+
+    @Override
+    public void publish(String room, String payload) {
+        run(() -> {
+            // 디렉터리상 다른 노드에 참가자가 없으면 보낼 필요 없음
+            if (remoteMembers(room) == 0) {
+                skipped.increment();
+                return;
+            }
+            redis.convertAndSend(prefix + room, nodeId + "\n" + payload);
+            relayedOut.increment();
+        });
+    }
+
+    @Override
+    public boolean publishes() {
+        return true;
+    }
+
+    @Override
+    public int remoteMembers(String room) {
+        return remote.getOrDefault(room, 0);
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        CompletableFuture<Void> f = subscriptions.get(new String(channel, StandardCharsets.UTF_8));
+        if (f != null) f.complete(null);
+    }
+
+    // 이 노드가 살아 있음을 알리고, 등록한 방 항목을 다시 쓰고, 구독 중인 방을 다시 읽는다 (io 스레드)
+    private void heartbeat() {
+        redis.opsForValue().set(nodeKeyPrefix + nodeId, "1", nodeTtl);
+        registered.forEach(this::writeCount);
+        for (String room : subscribed.keySet()) refresh(room);
+    }
+
+    // 디렉터리를 읽어 다른 노드 참가자 수 갱신. 하트비트가 끊긴 노드 항목은 지운다 (io 스레드)
+    private void refresh(String room) {
+        if (!subscribed.containsKey(room)) return;
+        String channel = prefix + room;
+        int n = 0;
+        for (Map.Entry<Object, Object> e : redis.opsForHash().entries(channel).entrySet()) {
+            String node = String.valueOf(e.getKey());
+            if (nodeId.equals(node)) continue;
+            if (!Boolean.TRUE.equals(redis.hasKey(nodeKeyPrefix + node))) {
+                redis.opsForHash().delete(channel, node);
+                log.info("[SIGNALING] dropped dead node {} from room {}", node, room);
+                continue;
+            }
+            try {
+                n += Math.max(0, Integer.parseInt(String.valueOf(e.getValue())));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        Integer before = remote.put(room, n);
+        if (before == null || before != n) presenceListener.accept(room);
+    }
+
+    @Override
+    public void onRemoteMessage(BiConsumer<String, String> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void onPresenceChange(Consumer<String> listener) {
+        this.presenceListener = listener;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int nl = body.indexOf('\n');
+        if (nl < 0 || !channel.startsWith(prefix)) return;
+        // 자기 노드가 보낸 메시지는 이미 로컬로 전달됨
+        if (body.regionMatches(0, nodeId, 0, nl) && nl == nodeId.length()) return;
+
+        String room = channel.substring(prefix.length());
+        if (body.startsWith(PRESENCE, nl + 1) && body.length() == nl + 1 + PRESENCE.length()) {
+            run(() -> refresh(room));
+            return;
+        }
+        relayedIn.increment();
+        listener.accept(room, body.substring(nl + 1));
+    }
+
+    private void run(Runnable task) {
+        io.execute(() -> guarded(task));
+    }
+
+    private void guarded(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("[SIGNALING] redis error: {}", e.toString());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (io.isShutdown()) return;
+        // 이 노드의 디렉터리 항목/하트비트 정리 후 종료
+        run(() -> {
+            for (String room : registered.keySet()) redis.opsForHash().delete(prefix + room, nodeId);
+            registered.clear();
+            redis.delete(nodeKeyPrefix + nodeId);
+        });
+        io.shutdown();
+        try {
+            io.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            container.stop();
+            container.destroy();
+        } catch (Exception ignored) {}
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.example.SafeTag_BE.config.SignalingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션별 비차단 송신 큐.
+ * <p>
+ * 수신 스레드는 메시지를 큐에 넣고 바로 돌아가며, 실제 sendMessage 는 송신 풀에서
+ * 세션당 한 번에 하나씩만 수행된다. 느린 피어는 자기 큐만 쌓이고, 한도를 넘으면
+ * 설정에 따라 메시지를 버리거나 세션을 끊는다.
+ * <p>
+ * 전송 한 건은 sendTimeLimitMs 로 제한한다 (Tomcat 은 블로킹 전송 타임아웃으로, 그 외에는
+ * 다음 enqueue 때 진행 중인 전송 시간을 확인). 넘기거나 전송이 실패한 세션은 끊어서
+ * 반쯤 열린 피어 몇 개가 송신 스레드를 붙잡지 못하게 한다. 끊기는 별도 스레드에서 수행한다.
+ */
+@Slf4j
+@Component
+public class SessionSender {
+
+    // 한 번의 drain 에서 보낼 최대 메시지 수 (다른 세션에 스레드를 양보)
+    private static final int DRAIN_BATCH = 64;
+    // Tomcat WsSession 의 블로킹 전송 타임아웃(ms) user property
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private record Pending(WebSocketMessage<?> message, int bytes, long enqueuedNanos) {}
+
+    private static final class Outbound {
+        final WebSocketSession session;
+        final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger depth = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closing = new AtomicBoolean();
+        // 진행 중인 sendMessage 시작 시각 (0 이면 없음)
+        volatile long sendStartedNanos;
+
+        Outbound(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+
+    private final SignalingProperties props;
+    private final ExecutorService executor;
+    // 세션 close 는 블록될 수 있으므로 송신 풀과 분리
+    private final ExecutorService closer;
+    private final Map<String, Outbound> outbound = new ConcurrentHashMap<>();
+
+    private final AtomicInteger totalQueued = new AtomicInteger();
+    private final Timer sendLatency;
+    private final Counter dropped;
+    private final Counter overflowClosed;
+    private final Counter slowClosed;
+
+    public SessionSender(SignalingProperties props, MeterRegistry registry) {
+        this.props = props;
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, props.getSendThreads()), r -> {
+            Thread t = new Thread(r, "ws-send-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.closer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ws-close");
+            t.setDaemon(true);
+            return t;
+        });
+
+        // 큐 대기 시간 포함 (enqueue -> 전송 완료)
+        this.sendLatency = Timer.builder("safetag.signaling.send.latency").register(registry);
+        this.dropped = Counter.builder("safetag.signaling.send.dropped").register(registry);
+        this.overflowClosed = Counter.builder("safetag.signaling.send.overflow.closed").register(registry);
+        // 전송 시간 초과/실패로 끊은 세션
+        this.slowClosed = Counter.builder("safetag.signaling.send.slow.closed").register(registry);
+        Gauge.builder("safetag.signaling.send.queued", totalQueued, AtomicInteger::get).register(registry);
+        Gauge.builder("safetag.signaling.sessions", outbound, Map::size).register(registry);
+    }
+
+    public void register(WebSocketSession session) {
+        outbound.computeIfAbsent(session.getId(), k -> new Outbound(session));
+        limitBlockingSend(session);
+    }
+
+    // 컨테이너가 지원하면 sendMessage 자체가 한도 후 예외로 끝나게 한다
+    private void limitBlockingSend(WebSocketSession session) {
+        if (!(session instanceof NativeWebSocketSession ns)) return;
+        jakarta.websocket.Session nativeSession = ns.getNativeSession(jakarta.websocket.Session.class);
+        if (nativeSession != null) {
+            nativeSession.getUserProperties().put(BLOCKING_SEND_TIMEOUT, sendTimeLimitMs());
+        }
+    }
+
+    private long sendTimeLimitMs() {
+        return Math.max(1L, props.getSendTimeLimitMs());
+    }
+
+    public void unregister(WebSocketSession session) {
+        Outbound o = outbound.remove(session.getId());
+        if (o != null) discard(o);
+    }
+
+    /** 큐에 넣고 즉시 반환 (같은 메시지 객체를 여러 세션에 넣어도 됨) */
+    public void send(WebSocketSession session, WebSocketMessage<?> message) {
+        if (!session.isOpen()) return;
+        Outbound o = outbound.computeIfAbsent(session.getId(), k -> new Outbound(session));
+        if (o.closing.get()) return;
+        long started = o.sendStartedNanos;
+        if (started != 0 && System.nanoTime() - started > TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs())) {
+            slow(o, "send time limit exceeded");
+            return;
+        }
+
+        int len = message.getPayloadLength();
+        int d = o.depth.incrementAndGet();
+        long b = o.bytes.addAndGet(len);
+        if (d > props.getSendQueueLimit() || b > props.getSendBufferBytes()) {
+            o.depth.decrementAndGet();
+            o.bytes.addAndGet(-len);
+            overflow(o);
+            return;
+        }
+
+        o.queue.add(new Pending(message, len, System.nanoTime()));
+        totalQueued.incrementAndGet();
+        schedule(o);
+    }
+
+    private void schedule(Outbound o) {
+        if (o.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(o));
+        }
+    }
+
+    private void drain(Outbound o) {
+        int sent = 0;
+        Pending p;
+        while (sent < DRAIN_BATCH && (p = o.queue.poll()) != null) {
+            o.depth.decrementAndGet();
+            o.bytes.addAndGet(-p.bytes());
+            totalQueued.decrementAndGet();
+            sent++;
+
+            if (!o.session.isOpen() || o.closing.get()) continue;
+            try {
+                WebSocketMessage<?> msg = p.message();
+                // 같은 BinaryMessage 를 여러 세션이 공유하므로 버퍼 위치는 세션마다 따로
+                if (msg instanceof BinaryMessage bin) {
+                    msg = new BinaryMessage(bin.getPayload().duplicate(), bin.isLast());
+                }
+                o.sendStartedNanos = System.nanoTime();
+                o.session.sendMessage(msg);
+                sendLatency.record(System.nanoTime() - p.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                // 타임아웃/끊긴 소켓: 남은 메시지도 같은 시간만큼 막히므로 세션을 끊는다
+                slow(o, e.toString());
+            } finally {
+                o.sendStartedNanos = 0;
+            }
+        }
+        o.draining.set(false);
+        // drain 종료 직후 들어온 메시지 또는 배치 한도로 남은 메시지 처리
+        if (!o.queue.isEmpty()) schedule(o);
+    }
+
+    private void overflow(Outbound o) {
+        if (props.getOverflowPolicy() == SignalingProperties.OverflowPolicy.DROP) {
+            dropped.increment();
+            return;
+        }
+        if (o.closing.compareAndSet(false, true)) {
+            overflowClosed.increment();
+            log.warn("WS send buffer overflow, closing sid={}", o.session.getId());
+            close(o);
+        }
+    }
+
+    private void slow(Outbound o, String reason) {
+        if (o.closing.compareAndSet(false, true)) {
+            slowClosed.increment();
+            log.warn("WS send too slow, closing sid={}: {}", o.session.getId(), reason);
+            discard(o);
+            close(o);
+        }
+    }
+
+    private void close(Outbound o) {
+        closer.execute(() -> {
+            try {
+                o.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (Exception ignored) {}
+        });
+    }
+
+    private void discard(Outbound o) {
+        o.closing.set(true);
+        Pending p;
+        while ((p = o.queue.poll()) != null) {
+            o.depth.decrementAndGet();
+            o.bytes.addAndGet(-p.bytes());
+            totalQueued.decrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        closer.shutdownNow();
+    }
+}
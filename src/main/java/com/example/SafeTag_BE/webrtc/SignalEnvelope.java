@@ -0,0 +1,113 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * 시그널링 메시지의 봉투(type, sessionId)만 읽은 결과.
+ * <p>
+ * 스트리밍 파서로 최상위 필드만 훑고, sdp/candidate 같은 본문은 트리로 만들지 않고
+ * 건너뛴다. 필요한 값을 모두 찾으면 나머지 payload 는 읽지 않는다.
+ *
+ * @param body             withBody 로 읽은 경우 본문(sdp / candidate / candidates) 값의 원문 JSON
+ *                         (없거나 null 이면 null)
+ * @param endOfCandidates  candidate 가 null/없음이거나 candidate.candidate 가 빈 문자열
+ *                         (텍스트/바이너리 프레임 모두 {@link #skipCandidate} 한 곳의 규칙으로 판단)
+ */
+public record SignalEnvelope(String type, String sessionId, String body, boolean endOfCandidates) {
+
+    /** JSON 객체가 아니면 null */
+    public static SignalEnvelope read(JsonFactory factory, String payload) throws IOException {
+        return read(factory, payload, false);
+    }
+
+    /** withBody 이면 본문 원문도 잘라서 보관 (ice 묶음, 바이너리 변환용) */
+    public static SignalEnvelope read(JsonFactory factory, String payload, boolean withBody) throws IOException {
+        try (JsonParser p = factory.createParser(payload)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return null;
+
+            String type = null;
+            String sessionId = null;
+            String body = null;
+            boolean bodySeen = !withBody;
+            boolean end = false;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken t = p.nextToken();
+                if (type == null && "type".equals(name)) {
+                    type = scalar(p, t);
+                } else if (sessionId == null && "sessionId".equals(name)) {
+                    sessionId = scalar(p, t);
+                } else if (!bodySeen && isBodyField(name)) {
+                    bodySeen = true;
+                    boolean candidate = "candidate".equals(name);
+                    if (t == JsonToken.VALUE_NULL) {
+                        end = candidate;
+                    } else {
+                        int start = (int) p.currentTokenLocation().getCharOffset();
+                        if (candidate && t == JsonToken.START_OBJECT) {
+                            end = skipCandidate(p);
+                        } else if (t.isScalarValue()) {
+                            p.finishToken(); // 문자열 끝까지 읽어야 위치가 맞음
+                        } else {
+                            p.skipChildren();
+                        }
+                        int stop = (int) p.currentLocation().getCharOffset();
+                        body = payload.substring(start, stop);
+                    }
+                } else {
+                    p.skipChildren();
+                }
+                if (type != null && sessionId != null && bodySeen) break;
+            }
+            if (withBody && !bodySeen) end = true;
+            return new SignalEnvelope(type, sessionId, body, end);
+        }
+    }
+
+    /** 바이너리 프레임의 봉투. ice 본문(candidate 값)의 end-of-candidates 는 {@link #read} 와 같은 규칙 */
+    public static SignalEnvelope of(JsonFactory factory, BinarySignalCodec.Frame f) throws IOException {
+        boolean end = "ice".equalsIgnoreCase(f.type()) && isEndOfCandidates(factory, f.body());
+        return new SignalEnvelope(f.type(), f.sessionId(), f.body(), end);
+    }
+
+    // candidate 값 원문이 없음/null 이거나 candidate.candidate 가 빈 문자열
+    private static boolean isEndOfCandidates(JsonFactory factory, String candidate) throws IOException {
+        if (candidate == null) return true;
+        try (JsonParser p = factory.createParser(candidate)) {
+            JsonToken t = p.nextToken();
+            if (t == null || t == JsonToken.VALUE_NULL) return true;
+            return t == JsonToken.START_OBJECT && skipCandidate(p);
+        }
+    }
+
+    private static boolean isBodyField(String name) {
+        return "sdp".equals(name) || "candidate".equals(name) || "candidates".equals(name);
+    }
+
+    // candidate 객체를 끝까지 읽으면서 end-of-candidates 여부 확인
+    private static boolean skipCandidate(JsonParser p) throws IOException {
+        boolean empty = false;
+        JsonToken t;
+        while ((t = p.nextToken()) == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            t = p.nextToken();
+            if ("candidate".equals(name) && t == JsonToken.VALUE_STRING) {
+                empty = p.getText().isEmpty();
+            } else {
+                p.skipChildren();
+            }
+        }
+        return empty;
+    }
+
+    private static String scalar(JsonParser p, JsonToken t) throws IOException {
+        if (t == null || t == JsonToken.VALUE_NULL) return null;
+        if (t.isScalarValue()) return p.getText();
+        p.skipChildren();
+        return null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.SafeTag_BE.webrtc;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 시그널링 방 공유.
+ * 단일 노드에서는 {@link LocalSignalingCluster}(no-op), 다중 노드에서는
+ * {@link RedisSignalingCluster} 가 방 디렉터리와 노드 간 릴레이 채널을 제공한다.
+ */
+public interface SignalingCluster {
+
+    /** 이 노드에 방 참가자가 들어옴 */
+    void joined(String room);
+
+    /** 이 노드의 방 참가자가 나감 (lastLocal: 이 노드에 남은 참가자가 없음) */
+    void left(String room, boolean lastLocal);
+
+    /** 다른 노드의 방 참가자에게 payload 전달 */
+    void publish(String room, String payload);
+
+    /** publish 가 실제로 다른 노드로 보내는지 (false 면 텍스트 변환을 건너뛸 수 있음) */
+    boolean publishes();
+
+    /** 다른 노드에 있는 이 방의 참가자 수 (디렉터리 기준, 단일 노드면 0) */
+    int remoteMembers(String room);
+
+    /** 다른 노드에서 온 메시지를 받을 콜백 (room, payload) */
+    void onRemoteMessage(BiConsumer<String, String> listener);
+
+    /** remoteMembers 값이 바뀐 방을 받을 콜백 */
+    void onPresenceChange(Consumer<String> listener);
+}
@@ -1,113 +1,302 @@
 package com.example.SafeTag_BE.webrtc;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.example.SafeTag_BE.config.SignalingProperties;
+import com.example.SafeTag_BE.entity.CallState;
+import com.example.SafeTag_BE.service.CallSessionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * /ws/signaling 핸들러.
+ * JSON 텍스트 프레임과 {@link BinarySignalCodec#SUBPROTOCOL} 바이너리 프레임을 모두 받으며,
+ * 같은 방 안에서도 받는 쪽 프로토콜에 맞춰 변환해서 전달한다.
+ * <p>
+ * 통화 상태(CONNECTED/FAILED)는 이 노드 참가자 수 + {@link SignalingCluster#remoteMembers} 로 판단한다.
+ * 다른 노드에 참가자가 남아 있으면 종료 상태는 마지막 참가자가 있는 노드가 기록한다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class SignalingHandler extends TextWebSocketHandler {
+public class SignalingHandler extends AbstractWebSocketHandler {
 
     private final ObjectMapper om = new ObjectMapper();
+    private final SessionSender sender;
+    private final SignalingCluster cluster;
+    private final IceBatcher iceBatcher;
+    private final CallStateSync callStates;
+    private final CallSessionService callSessionService;
+    private final SignalingProperties props;
+
+    // call_session 이 없는 방 (만료 없음)
+    private static final Instant NO_EXPIRY = Instant.MAX;
 
     // room(sessionId) -> 참가자 세션들
     private final Map<String, Set<WebSocketSession>> rooms = new ConcurrentHashMap<>();
     // 세션 -> 속한 room
     private final Map<WebSocketSession, String> sessionRoom = new ConcurrentHashMap<>();
+    // 세션 -> 마지막 수신 시각(ms). 끊긴(half-open) 연결 정리에 사용
+    private final Map<WebSocketSession, Long> lastSeen = new ConcurrentHashMap<>();
+    // room -> call_session.expiresAt (reaper 가 처음 볼 때 한 번에 조회)
+    private final Map<String, Instant> roomExpiry = new ConcurrentHashMap<>();
+    // 두 명 이상 모인 적 있는 방 (정상 종료 판단용)
+    private final Set<String> connectedRooms = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        // 다른 노드에서 온 메시지는 이 노드의 방 참가자 전원에게 전달
+        cluster.onRemoteMessage(this::deliverLocal);
+        // 다른 노드 참가자가 늘면 이 노드 기준으로도 통화 연결로 본다
+        cluster.onPresenceChange(this::checkConnected);
+        iceBatcher.onFlush((room, from, frame) -> broadcastExcept(room, from, OutFrame.of(om.getFactory(), frame)));
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
+        sender.register(session);
+        touch(session);
         log.info("WS connected: {}", session.getId());
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        touch(session);
         try {
-            JsonNode root = om.readTree(message.getPayload());
-            String type = getText(root, "type");
-            String room = getText(root, "sessionId"); // 프론트에서 sessionId로 보냄
-            if (type == null || room == null || room.isBlank()) return;
-
-            switch (type.toLowerCase()) {
-                case "join" -> {
-                    rooms.computeIfAbsent(room, k -> ConcurrentHashMap.newKeySet()).add(session);
-                    sessionRoom.put(session, room);
-                    // 방에 들어온 본인에게 ack
-                    send(session, Map.of("type", "ack", "sessionId", room));
-                    // 기존 참가자들에게 새로운 참가자 알림
-                    broadcastExcept(room, session, Map.of("type", "joined", "sessionId", room));
-                    log.info("JOIN room={} sid={}", room, session.getId());
-                }
-                case "offer", "answer" -> {
-                    // SDP 그대로 릴레이
-                    JsonNode sdp = root.get("sdp"); // 전체 SDP 객체
-                    broadcastExcept(room, session, Map.of("type", type.toLowerCase(), "sdp", sdp, "sessionId", room));
+            // 봉투(type, sessionId)만 스트리밍으로 읽음
+            SignalEnvelope env = SignalEnvelope.read(om.getFactory(), message.getPayload(), iceBatcher.isEnabled());
+            if (env == null) return;
+            dispatch(session, env, OutFrame.of(om.getFactory(), message));
+        } catch (Exception e) {
+            log.warn("WS handle error: {}", e.toString());
+        }
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        touch(session);
+        try {
+            BinarySignalCodec.Frame f = BinarySignalCodec.decode(message.getPayload());
+            SignalEnvelope env = SignalEnvelope.of(om.getFactory(), f);
+            dispatch(session, env, OutFrame.of(om.getFactory(), f));
+        } catch (Exception e) {
+            log.warn("WS binary handle error: {}", e.toString());
+        }
+    }
+
+    private void dispatch(WebSocketSession session, SignalEnvelope env, OutFrame message) {
+        String type = env.type();
+        String room = env.sessionId(); // 프론트에서 sessionId로 보냄
+        if (type == null || room == null || room.isBlank()) return;
+
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case "join" -> {
+                Set<WebSocketSession> set = rooms.computeIfAbsent(room, k -> ConcurrentHashMap.newKeySet());
+                if (set.add(session)) {
+                    cluster.joined(room);
+                    if (members(room, set) >= 2) {
+                        if (connectedRooms.add(room)) callStates.enqueue(room, CallState.CONNECTED);
+                    } else {
+                        callStates.enqueue(room, CallState.WAITING_PEERS);
+                    }
                 }
-                case "ice" -> {
+                sessionRoom.put(session, room);
+                // 방에 들어온 본인에게 ack
+                send(session, Map.of("type", "ack", "sessionId", room));
+                // 기존 참가자들에게 새로운 참가자 알림
+                broadcastExcept(room, session, Map.of("type", "joined", "sessionId", room));
+                log.info("JOIN room={} sid={}", room, session.getId());
+            }
+            case "offer", "answer" -> {
+                // 대기 중인 ice 묶음이 SDP 보다 늦게 가지 않도록 먼저 전달
+                if (iceBatcher.isEnabled()) iceBatcher.flush(session);
+                // SDP: 받은 프레임을 재직렬화 없이 그대로 릴레이
+                broadcastExcept(room, session, message);
+            }
+            case "ice" -> {
+                if (iceBatcher.isEnabled()) {
+                    iceBatcher.add(session, room, env.body(), env.endOfCandidates());
+                } else {
                     // ICE candidate 그대로 릴레이
-                    JsonNode cand = root.get("candidate");
-                    broadcastExcept(room, session, Map.of("type", "ice", "candidate", cand, "sessionId", room));
+                    broadcastExcept(room, session, message);
                 }
-                default -> log.debug("Unknown type: {}", type);
             }
-        } catch (Exception e) {
-            log.warn("WS handle error: {}", e.toString());
+            default -> log.debug("Unknown type: {}", type);
         }
     }
 
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        touch(session);
+    }
+
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        detach(session);
+        log.info("WS closed: {} ({})", session.getId(), status);
+    }
+
+    // 방/세션 상태 정리 (여러 번 호출돼도 안전)
+    private void detach(WebSocketSession session) {
+        lastSeen.remove(session);
+        if (iceBatcher.isEnabled()) iceBatcher.flush(session);
         String room = sessionRoom.remove(session);
         if (room != null) {
             Set<WebSocketSession> set = rooms.getOrDefault(room, Collections.emptySet());
             set.remove(session);
             broadcast(room, Map.of("type", "left", "sessionId", room));
-            if (set.isEmpty()) rooms.remove(room);
+            boolean last = set.isEmpty();
+            if (last) {
+                rooms.remove(room);
+                roomExpiry.remove(room);
+                boolean connected = connectedRooms.remove(room);
+                // 다른 노드에 참가자가 남아 있으면 그쪽이 종료를 기록
+                if (cluster.remoteMembers(room) == 0) callStates.end(room, connected);
+            }
+            cluster.left(room, last);
         }
-        log.info("WS closed: {} ({})", session.getId(), status);
+        sender.unregister(session);
     }
 
-    private void send(WebSocketSession s, Object payload) {
+    // 이 노드 + 다른 노드 참가자 수
+    private int members(String room, Set<WebSocketSession> local) {
+        return local.size() + cluster.remoteMembers(room);
+    }
+
+    private void checkConnected(String room) {
+        Set<WebSocketSession> set = rooms.get(room);
+        if (set == null || set.isEmpty()) return;
+        if (members(room, set) >= 2 && connectedRooms.add(room)) {
+            callStates.enqueue(room, CallState.CONNECTED);
+        }
+    }
+
+    private void touch(WebSocketSession session) {
+        lastSeen.put(session, System.currentTimeMillis());
+    }
+
+    // 주기적으로 ping 을 보내 pong 으로 살아있는지 확인
+    @Scheduled(fixedDelayString = "${signaling.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (WebSocketSession s : lastSeen.keySet()) {
+            sender.send(s, new PingMessage());
+        }
+    }
+
+    /**
+     * 응답 없는 연결과, 연결되지 못한 채 call_session 이 만료된 방을 정리.
+     * close 이벤트가 오지 않는 연결도 여기서 rooms/sessionRoom 에서 빠진다.
+     * expiresAt 은 요청 응답 기한(생성 + TTL)이므로 CONNECTED 까지 간 통화는 끊지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${signaling.reaper-ms:10000}")
+    public void reap() {
+        long cutoff = System.currentTimeMillis() - props.getIdleTimeoutMs();
+        lastSeen.forEach((s, seen) -> {
+            if (seen < cutoff || !s.isOpen()) {
+                log.info("WS idle, reaping sid={}", s.getId());
+                detach(s);
+                closeQuietly(s, CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        });
+
+        // 처음 보는 방의 만료 시각을 한 번에 조회
+        List<String> unknown = rooms.keySet().stream().filter(r -> !roomExpiry.containsKey(r)).toList();
+        if (!unknown.isEmpty()) {
+            try {
+                Map<String, Instant> found = callSessionService.findExpiresAt(unknown);
+                for (String r : unknown) roomExpiry.put(r, found.getOrDefault(r, NO_EXPIRY));
+            } catch (Exception e) {
+                log.warn("WS reaper expiry lookup failed: {}", e.toString());
+            }
+        }
+
+        Instant now = Instant.now();
+        roomExpiry.forEach((room, exp) -> {
+            if (!rooms.containsKey(room)) {
+                roomExpiry.remove(room, exp);
+            } else if (exp.isBefore(now) && !connectedRooms.contains(room)) {
+                expireRoom(room);
+            }
+        });
+    }
+
+    private void expireRoom(String room) {
+        Set<WebSocketSession> set = rooms.remove(room);
+        roomExpiry.remove(room);
+        callStates.end(room, connectedRooms.remove(room));
+        if (set == null) return;
+        log.info("WS room expired room={} members={}", room, set.size());
+        cluster.left(room, true);
+        for (WebSocketSession s : set) {
+            sessionRoom.remove(s, room);
+            closeQuietly(s, CloseStatus.GOING_AWAY.withReason("session expired"));
+        }
+    }
+
+    private void closeQuietly(WebSocketSession s, CloseStatus status) {
         try {
-            s.sendMessage(new TextMessage(om.writeValueAsString(payload)));
+            s.close(status);
         } catch (Exception ignored) {}
     }
 
+    // 실제 전송은 SessionSender 의 세션별 큐에서 비동기로 처리
+    private void send(WebSocketSession s, Object payload) {
+        OutFrame out = serialize(payload);
+        if (out != null) deliver(s, out);
+    }
+
+    private void deliver(WebSocketSession s, OutFrame out) {
+        WebSocketMessage<?> msg = out.forSession(s);
+        if (msg != null) sender.send(s, msg);
+    }
+
     private void broadcast(String room, Object payload) {
+        // 한 번만 직렬화해서 같은 메시지를 모든 피어 큐에 넣음
+        OutFrame out = serialize(payload);
+        if (out != null) broadcastExcept(room, null, out);
+    }
+
+    private void broadcastExcept(String room, WebSocketSession except, Object payload) {
+        OutFrame out = serialize(payload);
+        if (out != null) broadcastExcept(room, except, out);
+    }
+
+    private void broadcastExcept(String room, WebSocketSession except, OutFrame out) {
+        // 다른 노드로 보낼 때만 텍스트로 변환 (바이너리끼리의 단일 노드 릴레이는 변환 없음)
+        if (cluster.publishes()) {
+            TextMessage text = out.text();
+            if (text != null) cluster.publish(room, text.getPayload());
+        }
         Set<WebSocketSession> set = rooms.get(room);
         if (set == null) return;
-        String text;
-        try { text = om.writeValueAsString(payload); } catch (Exception e) { return; }
         for (WebSocketSession s : set) {
-            if (s.isOpen()) {
-                try { s.sendMessage(new TextMessage(text)); } catch (Exception ignored) {}
-            }
+            if (s == except) continue;
+            deliver(s, out);
         }
     }
 
-    private void broadcastExcept(String room, WebSocketSession except, Object payload) {
+    private void deliverLocal(String room, String payload) {
         Set<WebSocketSession> set = rooms.get(room);
         if (set == null) return;
-        String text;
-        try { text = om.writeValueAsString(payload); } catch (Exception e) { return; }
+        OutFrame out = OutFrame.of(om.getFactory(), new TextMessage(payload));
         for (WebSocketSession s : set) {
-            if (s == except) continue;
-            if (s.isOpen()) {
-                try { s.sendMessage(new TextMessage(text)); } catch (Exception ignored) {}
-            }
+            deliver(s, out);
         }
     }
 
-    private String getText(JsonNode n, String field) {
-        JsonNode v = n.get(field);
-        return (v != null && !v.isNull()) ? v.asText() : null;
+    private OutFrame serialize(Object payload) {
+        try {
+            return OutFrame.of(om.getFactory(), new TextMessage(om.writeValueAsString(payload)));
+        } catch (Exception e) {
+            return null;
+        }
     }
 }
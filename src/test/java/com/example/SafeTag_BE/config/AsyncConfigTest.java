@@ -0,0 +1,69 @@
+package com.example.SafeTag_BE.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncConfigTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	// 워커 1 + 큐 1 이 차면 다음 작업은 즉시 거절
+	@Test
+	void ocrPoolRejectsWhenQueueIsFull() throws InterruptedException {
+		ThreadPoolTaskExecutor pool = new AsyncConfig().ocrThreadPool(registry, 1, 1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			pool.execute(() -> {
+				started.countDown();
+				await(release);
+			});
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			pool.execute(() -> {});
+
+			assertThrows(TaskRejectedException.class, () -> pool.execute(() -> {}));
+			assertEquals(1, registry.get("safetag.ocr.rejected").counter().count());
+		} finally {
+			release.countDown();
+			pool.shutdown();
+		}
+	}
+
+	// 한 작업이 오래 걸려도 다른 예약 작업이 밀리지 않아야 함
+	@Test
+	void schedulerRunsTasksConcurrently() throws InterruptedException {
+		ThreadPoolTaskScheduler scheduler = new AsyncConfig().taskScheduler(registry, 2);
+		CountDownLatch bothRunning = new CountDownLatch(2);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			for (int i = 0; i < 2; i++) {
+				scheduler.execute(() -> {
+					bothRunning.countDown();
+					await(release);
+				});
+			}
+			assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+			assertTrue(Thread.getAllStackTraces().keySet().stream()
+					.anyMatch(t -> t.getName().startsWith("sched-")));
+		} finally {
+			release.countDown();
+			scheduler.shutdown();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.example.SafeTag_BE.job;
+
+import com.example.SafeTag_BE.entity.OcrJob;
+import com.example.SafeTag_BE.entity.OcrJobStatus;
+import com.example.SafeTag_BE.enums.VerificationType;
+import com.example.SafeTag_BE.repository.OcrJobRepository;
+import com.example.SafeTag_BE.service.OcrClient;
+import com.example.SafeTag_BE.service.OcrService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// DB/OCR 서버 없이 스케줄러 판단만 확인 (리포지토리 펜싱은 OcrJobRepositoryTest)
+class OcrJobSchedulerTest {
+
+	private static final int MAX_ATTEMPTS = 3;
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final OcrJobRepository repo = mock(OcrJobRepository.class);
+	private final OcrService ocrService = mock(OcrService.class);
+	private final OcrClient ocrClient = mock(OcrClient.class);
+	private final ThreadPoolTaskExecutor pool = mock(ThreadPoolTaskExecutor.class);
+	private OcrJobScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		// 결과 처리는 호출 스레드에서 바로
+		doAnswer(inv -> {
+			inv.<Runnable>getArgument(0).run();
+			return null;
+		}).when(pool).execute(any(Runnable.class));
+		when(repo.startLease(anyLong(), anyInt(), any())).thenReturn(1);
+		when(repo.finish(anyLong(), anyInt(), any(), any(), any())).thenReturn(1);
+		when(repo.reschedule(anyLong(), anyInt(), any(), any())).thenReturn(1);
+		when(ocrService.decide(any(), any())).thenReturn(new OcrService.Decision(true, "ok", List.of()));
+
+		scheduler = new OcrJobScheduler(repo, ocrService, ocrClient, pool, mock(PlatformTransactionManager.class),
+				registry, 20, 2000, 120, MAX_ATTEMPTS, 1, 1, 4, "test");
+	}
+
+	private OcrJob job(long id, int attempts) {
+		return OcrJob.builder()
+				.id(id)
+				.verificationId(100 + id)
+				.fileId("file-" + id)
+				.type(VerificationType.RESIDENT)
+				.status(OcrJobStatus.PENDING)
+				.attempts(attempts)
+				.nextAttemptAt(Instant.now())
+				.createdAt(Instant.now())
+				.build();
+	}
+
+	// lockDue 가 job 을 돌려주는 poll 한 번
+	private void poll(OcrJob job) {
+		when(repo.lockDue(any(), anyInt())).thenReturn(List.of(job)).thenReturn(List.of());
+		scheduler.kick();
+		scheduler.tick();
+	}
+
+	private double finished(String result) {
+		return registry.get("safetag.ocr.job.finished").tag("result", result).counter().count();
+	}
+
+	@Test
+	void approvesOnSuccess() {
+		when(ocrClient.recognizeAsync("file-1")).thenReturn(CompletableFuture.completedFuture("text"));
+		OcrJob j = job(1, 0);
+
+		poll(j);
+
+		verify(repo).finish(eq(1L), eq(1), eq(OcrJobStatus.DONE), isNull(), any());
+		verify(ocrService).applyDecision(101L, true, "ok");
+		assertEquals(1, finished("approved"));
+	}
+
+	// 호출 실패는 재시도하다가 max-attempts 번째에 반려
+	@Test
+	void retriesThenFailsAtMaxAttempts() {
+		when(ocrClient.recognizeAsync("file-1"))
+				.thenReturn(CompletableFuture.failedFuture(new IOException("connection refused")));
+		OcrJob j = job(1, 0);
+
+		for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+			poll(j);
+			verify(repo).reschedule(eq(1L), eq(attempt), any(), eq("connection refused"));
+			j.setStatus(OcrJobStatus.PENDING);
+		}
+		verify(repo, never()).finish(anyLong(), anyInt(), any(), any(), any());
+
+		poll(j);
+		verify(repo).finish(eq(1L), eq(MAX_ATTEMPTS), eq(OcrJobStatus.FAILED), eq("connection refused"), any());
+		verify(ocrService).applyDecision(101L, false, "OCR 호출 실패: connection refused");
+		assertEquals(MAX_ATTEMPTS - 1, registry.get("safetag.ocr.job.retried").counter().count());
+		assertEquals(1, finished("failed"));
+	}
+
+	// 파일이 없으면 재시도 없이 바로 반려
+	@Test
+	void missingFileFailsImmediately() {
+		when(ocrClient.recognizeAsync("file-1"))
+				.thenReturn(CompletableFuture.failedFuture(new OcrClient.MissingFileException("file-1")));
+
+		poll(job(1, 0));
+
+		verify(repo, never()).reschedule(anyLong(), anyInt(), any(), any());
+		verify(repo).finish(eq(1L), eq(1), eq(OcrJobStatus.FAILED), any(), any());
+		verify(ocrService).applyDecision(eq(101L), eq(false), startsWith("OCR 호출 실패: "));
+	}
+
+	// 응답을 기다리는 사이 임대를 잃었으면 (finish 0건) 결과를 반영하지 않음
+	@Test
+	void resultIsDroppedWhenLeaseIsLost() {
+		when(ocrClient.recognizeAsync("file-1")).thenReturn(CompletableFuture.completedFuture("text"));
+		when(repo.finish(anyLong(), anyInt(), any(), any(), any())).thenReturn(0);
+
+		poll(job(1, 0));
+
+		verify(ocrService, never()).applyDecision(anyLong(), anyBoolean(), any());
+		assertEquals(0, finished("approved"));
+	}
+
+	// 보내기 직전에 임대를 못 잡으면 호출하지 않음
+	@Test
+	void notSentWhenLeaseIsLostBeforeStart() {
+		when(repo.startLease(anyLong(), anyInt(), any())).thenReturn(0);
+
+		poll(job(1, 0));
+
+		verify(ocrClient, never()).recognizeAsync(any());
+		verify(repo, never()).finish(anyLong(), anyInt(), any(), any(), any());
+	}
+
+	// 임대 만료로 다시 잡혔는데 이미 한도만큼 가져간 작업은 보내지 않고 실패 처리
+	@Test
+	void expiredLeaseAtMaxAttemptsIsFailedOnClaim() {
+		OcrJob j = job(1, MAX_ATTEMPTS);
+		j.setStatus(OcrJobStatus.RUNNING);
+
+		poll(j);
+
+		assertEquals(OcrJobStatus.FAILED, j.getStatus());
+		verify(ocrClient, never()).recognizeAsync(any());
+		verify(ocrService).applyDecision(eq(101L), eq(false), startsWith("OCR 호출 실패: "));
+		assertEquals(1, finished("failed"));
+	}
+}
@@ -0,0 +1,126 @@
+package com.example.SafeTag_BE.push;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PushDispatcherTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final List<PushDispatcher> dispatchers = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		dispatchers.forEach(PushDispatcher::shutdown);
+	}
+
+	private PushDispatcher dispatcher(PushTransport transport, int capacity, int maxAttempts) {
+		PushDispatcher d = new PushDispatcher(transport, registry, capacity, 1, maxAttempts, 1L);
+		dispatchers.add(d);
+		return d;
+	}
+
+	@Test
+	void sendsSubmittedMessagesThroughTransport() throws InterruptedException {
+		StandInPushTransport transport = new StandInPushTransport();
+		PushDispatcher d = dispatcher(transport, 100, 3);
+
+		for (int i = 0; i < 20; i++) {
+			assertTrue(d.submit(PushMessage.of(1L, "token-" + i, Map.of("n", String.valueOf(i)))));
+		}
+		await(() -> transport.sent().size() == 20);
+		assertEquals(20, count("safetag.push.sent", "result", "ok"));
+		assertEquals(20, count("safetag.push.submitted", "result", "accepted"));
+	}
+
+	@Test
+	void retriesTransientErrorsUpToMaxAttempts() throws InterruptedException {
+		PushDispatcher d = dispatcher(new StandInPushTransport(), 100, 3);
+		List<PushOutcome> outcomes = new CopyOnWriteArrayList<>();
+		d.addOutcomeListener(outcomes::addAll);
+
+		d.submit(PushMessage.of(1L, "unavailable:a", Map.of()));
+		// 리스너는 카운터 갱신 뒤에 호출됨
+		await(() -> outcomes.size() == 3);
+
+		assertEquals(1, count("safetag.push.sent", "result", "failed"));
+		assertEquals(List.of(0, 1, 2), outcomes.stream().map(o -> o.message().attempt()).toList());
+		assertEquals(2, count("safetag.push.retried"));
+	}
+
+	@Test
+	void deadTokensAreNotRetried() throws InterruptedException {
+		PushDispatcher d = dispatcher(new StandInPushTransport(), 100, 3);
+		List<PushOutcome> outcomes = new CopyOnWriteArrayList<>();
+		d.addOutcomeListener(outcomes::addAll);
+
+		d.submit(PushMessage.of(1L, "unregistered:a", Map.of()));
+		await(() -> outcomes.size() == 1);
+
+		assertEquals(1, count("safetag.push.sent", "result", "failed"));
+		assertFalse(outcomes.get(0).retryable());
+		assertEquals(0, count("safetag.push.retried"));
+	}
+
+	// 워커가 막혀 있을 때 큐가 차면 submit 은 기다리지 않고 false
+	@Test
+	void rejectsWhenQueueIsFull() throws InterruptedException {
+		CountDownLatch inSend = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PushDispatcher d = dispatcher(batch -> {
+			inSend.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return batch.stream().map(m -> PushOutcome.success(m, "id")).toList();
+		}, 1, 3);
+
+		assertTrue(d.submit(PushMessage.of(1L, "a", Map.of())));
+		assertTrue(inSend.await(5, TimeUnit.SECONDS));
+		assertTrue(d.submit(PushMessage.of(1L, "b", Map.of())));
+		assertFalse(d.submit(PushMessage.of(1L, "c", Map.of())));
+		assertFalse(d.submit(PushMessage.of(1L, " ", Map.of())));
+		release.countDown();
+
+		assertEquals(1, count("safetag.push.submitted", "result", "rejected"));
+	}
+
+	@Test
+	void standInKeepsOnlyRecentMessages() {
+		StandInPushTransport transport = new StandInPushTransport();
+		List<PushMessage> batch = new ArrayList<>();
+		for (int i = 0; i < 1005; i++) batch.add(PushMessage.of(1L, "t" + i, Map.of()));
+		transport.sendEach(batch);
+
+		List<PushMessage> sent = transport.sent();
+		assertEquals(1000, sent.size());
+		assertEquals("t5", sent.get(0).token());
+		assertEquals("t1004", sent.get(999).token());
+	}
+
+	private double count(String name, String... tags) {
+		var search = registry.get(name);
+		for (int i = 0; i < tags.length; i += 2) search = search.tag(tags[i], tags[i + 1]);
+		return search.counter().count();
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) fail("timed out");
+			Thread.sleep(10);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.SafeTag_BE.push;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static com.example.SafeTag_BE.push.PushThrottle.Decision.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PushThrottleTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void suppressesRepeatedScanOfSameQr() {
+		PushThrottle t = new PushThrottle(registry, 30, 5, 10);
+
+		assertEquals(SEND, t.tryAcquire(1L, 100L));
+		assertEquals(DUPLICATE, t.tryAcquire(1L, 100L));
+		// 다른 QR / 다른 차주는 별개
+		assertEquals(SEND, t.tryAcquire(1L, 101L));
+		assertEquals(SEND, t.tryAcquire(2L, 100L));
+		assertEquals(1, registry.get("safetag.push.throttle").tag("decision", "DUPLICATE").counter().count());
+	}
+
+	@Test
+	void zeroWindowDisablesDedup() {
+		PushThrottle t = new PushThrottle(registry, 0, 5, 10);
+		assertEquals(SEND, t.tryAcquire(1L, 100L));
+		assertEquals(SEND, t.tryAcquire(1L, 100L));
+	}
+
+	// 버킷 용량만큼 몰아서 보낸 뒤에는 충전 전까지 제한
+	@Test
+	void limitsBurstPerOwner() {
+		PushThrottle t = new PushThrottle(registry, 30, 3, 1);
+
+		assertEquals(SEND, t.tryAcquire(1L, 1L));
+		assertEquals(SEND, t.tryAcquire(1L, 2L));
+		assertEquals(SEND, t.tryAcquire(1L, 3L));
+		assertEquals(RATE_LIMITED, t.tryAcquire(1L, 4L));
+		// 다른 차주의 버킷은 영향 없음
+		assertEquals(SEND, t.tryAcquire(2L, 4L));
+		assertEquals(1, registry.get("safetag.push.throttle").tag("decision", "RATE_LIMITED").counter().count());
+	}
+
+	// 제한으로 보내지 않은 스캔은 중복 억제 구간을 남기지 않음
+	@Test
+	void rateLimitedScanDoesNotStartDedupWindow() {
+		PushThrottle t = new PushThrottle(registry, 30, 1, 1);
+
+		assertEquals(SEND, t.tryAcquire(1L, 1L));
+		assertEquals(RATE_LIMITED, t.tryAcquire(1L, 2L));
+		assertEquals(RATE_LIMITED, t.tryAcquire(1L, 2L));
+	}
+
+	@Test
+	void sweepKeepsActiveWindows() {
+		PushThrottle t = new PushThrottle(registry, 30, 5, 10);
+		assertEquals(SEND, t.tryAcquire(1L, 100L));
+		t.sweep();
+		assertEquals(DUPLICATE, t.tryAcquire(1L, 100L));
+	}
+}
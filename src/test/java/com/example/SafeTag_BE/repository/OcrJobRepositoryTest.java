@@ -0,0 +1,137 @@
+package com.example.SafeTag_BE.repository;
+
+import com.example.SafeTag_BE.entity.OcrJob;
+import com.example.SafeTag_BE.entity.OcrJobStatus;
+import com.example.SafeTag_BE.enums.VerificationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// MySQL 호환 모드 H2 로 native 쿼리(for update skip locked)까지 실행
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:ocr_job;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+		"spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OcrJobRepositoryTest {
+
+	@Autowired
+	private OcrJobRepository repo;
+	@Autowired
+	private TestEntityManager em;
+
+	private final Instant now = Instant.now();
+
+	private OcrJob job(long verificationId, OcrJobStatus status, int attempts, Instant nextAttemptAt, Instant lockedUntil) {
+		OcrJob j = OcrJob.builder()
+				.verificationId(verificationId)
+				.fileId("file-" + verificationId)
+				.type(VerificationType.RESIDENT)
+				.status(status)
+				.attempts(attempts)
+				.nextAttemptAt(nextAttemptAt)
+				.lockedUntil(lockedUntil)
+				.createdAt(now)
+				.build();
+		return em.persistAndFlush(j);
+	}
+
+	private OcrJob reload(OcrJob j) {
+		em.clear();
+		return em.find(OcrJob.class, j.getId());
+	}
+
+	@Test
+	void lockDueReturnsDueAndExpiredLeases() {
+		OcrJob due = job(1, OcrJobStatus.PENDING, 0, now.minusSeconds(5), null);
+		job(2, OcrJobStatus.PENDING, 1, now.plusSeconds(60), null);                  // 백오프 중
+		OcrJob expired = job(3, OcrJobStatus.RUNNING, 1, now.minusSeconds(60), now.minusSeconds(1));
+		job(4, OcrJobStatus.RUNNING, 1, now.minusSeconds(60), now.plusSeconds(60)); // 다른 노드가 처리 중
+		job(5, OcrJobStatus.DONE, 1, now.minusSeconds(60), null);
+		job(6, OcrJobStatus.FAILED, 5, now.minusSeconds(60), null);
+
+		List<Long> ids = repo.lockDue(now, 10).stream().map(OcrJob::getId).toList();
+		// next_attempt_at 순서
+		assertEquals(List.of(expired.getId(), due.getId()), ids);
+		assertEquals(1, repo.lockDue(now, 1).size());
+	}
+
+	// 임대가 만료돼 다시 가져간 작업(attempts 증가)은 이전 시도의 update 로 바뀌지 않음
+	@Test
+	void finishIsFencedByAttempt() {
+		OcrJob j = job(1, OcrJobStatus.RUNNING, 2, now, now.plusSeconds(60));
+
+		assertEquals(0, repo.finish(j.getId(), 1, OcrJobStatus.DONE, null, now));
+		assertEquals(OcrJobStatus.RUNNING, reload(j).getStatus());
+
+		assertEquals(1, repo.finish(j.getId(), 2, OcrJobStatus.FAILED, "boom", now));
+		OcrJob after = reload(j);
+		assertEquals(OcrJobStatus.FAILED, after.getStatus());
+		assertEquals("boom", after.getLastError());
+		assertNull(after.getLockedUntil());
+		assertNotNull(after.getFinishedAt());
+
+		// 끝난 작업은 다시 끝낼 수 없음
+		assertEquals(0, repo.finish(j.getId(), 2, OcrJobStatus.DONE, null, now));
+	}
+
+	@Test
+	void rescheduleIsFencedByAttempt() {
+		OcrJob j = job(1, OcrJobStatus.RUNNING, 1, now, now.plusSeconds(60));
+		Instant next = now.plusSeconds(30);
+
+		assertEquals(0, repo.reschedule(j.getId(), 2, next, "late"));
+		assertEquals(OcrJobStatus.RUNNING, reload(j).getStatus());
+
+		assertEquals(1, repo.reschedule(j.getId(), 1, next, "timeout"));
+		OcrJob after = reload(j);
+		assertEquals(OcrJobStatus.PENDING, after.getStatus());
+		assertEquals(1, after.getAttempts());
+		assertEquals("timeout", after.getLastError());
+		assertNull(after.getLockedUntil());
+		assertTrue(repo.lockDue(now, 10).isEmpty());
+	}
+
+	@Test
+	void releaseGivesBackTheAttempt() {
+		OcrJob j = job(1, OcrJobStatus.RUNNING, 3, now, now.plusSeconds(60));
+
+		assertEquals(0, repo.release(j.getId(), 2));
+		assertEquals(1, repo.release(j.getId(), 3));
+		OcrJob after = reload(j);
+		assertEquals(OcrJobStatus.PENDING, after.getStatus());
+		assertEquals(2, after.getAttempts());
+		assertNull(after.getLockedUntil());
+		// 한 번 되돌린 뒤에는 같은 시도로 다시 되돌릴 수 없음
+		assertEquals(0, repo.release(j.getId(), 3));
+	}
+
+	@Test
+	void startLeaseIsFencedByAttempt() {
+		OcrJob j = job(1, OcrJobStatus.RUNNING, 1, now, now.plusSeconds(1));
+		Instant until = now.plusSeconds(120);
+
+		assertEquals(0, repo.startLease(j.getId(), 0, until));
+		assertEquals(1, repo.startLease(j.getId(), 1, until));
+		assertEquals(until.getEpochSecond(), reload(j).getLockedUntil().getEpochSecond());
+
+		repo.finish(j.getId(), 1, OcrJobStatus.DONE, null, now);
+		assertEquals(0, repo.startLease(j.getId(), 1, until));
+	}
+
+	@Test
+	void countsByStatus() {
+		job(1, OcrJobStatus.PENDING, 0, now, null);
+		job(2, OcrJobStatus.PENDING, 0, now, null);
+		job(3, OcrJobStatus.DONE, 1, now, null);
+		assertEquals(2, repo.countByStatus(OcrJobStatus.PENDING));
+		assertEquals(0, repo.countByStatus(OcrJobStatus.RUNNING));
+	}
+}
@@ -0,0 +1,59 @@
+package com.example.SafeTag_BE.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+	@Test
+	void parseReturnsAllClaimsAtOnce() {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		String token = provider.generateToken(42L, "ROLE_USER", "driver");
+
+		JwtClaims claims = provider.parse(token);
+		assertEquals(42L, claims.userId());
+		assertEquals("ROLE_USER", claims.role());
+		assertEquals("driver", claims.username());
+		assertTrue(claims.expiresAtMillis() > System.currentTimeMillis());
+
+		assertTrue(provider.validateToken(token));
+		assertEquals(42L, provider.getUserIdFromToken(token));
+	}
+
+	// 다른 토큰의 payload 를 붙이면 서명이 맞지 않음
+	@Test
+	void tamperedTokenIsRejected() {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		String[] a = provider.generateToken(1L, "ROLE_USER", "a").split("\\.");
+		String[] b = provider.generateToken(2L, "ROLE_ADMIN", "b").split("\\.");
+		String forged = a[0] + "." + b[1] + "." + a[2];
+
+		assertNull(provider.parseOrNull(forged));
+		assertFalse(provider.validateToken(forged));
+		assertNull(provider.parseOrNull("not-a-jwt"));
+	}
+
+	@Test
+	void cachedClaimsAreReusedWhenEnabled() {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "cacheEnabled", true);
+		ReflectionTestUtils.setField(provider, "cacheMaxEntries", 100);
+		String token = provider.generateToken(7L, "ROLE_USER", "cached");
+
+		JwtClaims first = provider.parse(token);
+		assertSame(first, provider.parse(token));
+	}
+
+	@Test
+	void claimsAreParsedEachTimeWhenCacheDisabled() {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		String token = provider.generateToken(7L, "ROLE_USER", "uncached");
+
+		JwtClaims first = provider.parse(token);
+		JwtClaims second = provider.parse(token);
+		assertEquals(first, second);
+		assertNotSame(first, second);
+	}
+}
@@ -0,0 +1,72 @@
+package com.example.SafeTag_BE.security;
+
+import com.example.SafeTag_BE.config.PublicRouteProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicRoutesTest {
+
+	private static PublicRoutes routes(List<String> anonymous, List<String> optionalAuth) {
+		PublicRouteProperties props = new PublicRouteProperties();
+		props.setAnonymous(anonymous);
+		props.setOptionalAuth(optionalAuth);
+		return new PublicRoutes(props);
+	}
+
+	@Test
+	void wildcardMatchesBaseAndSubPathsOnly() {
+		PublicRoutes r = routes(List.of("/api/qrs/**"), List.of());
+
+		assertEquals(PublicRoutes.Access.ANONYMOUS, r.classify("/api/qrs"));
+		assertEquals(PublicRoutes.Access.ANONYMOUS, r.classify("/api/qrs/"));
+		assertEquals(PublicRoutes.Access.ANONYMOUS, r.classify("/api/qrs/12/image"));
+		// 경로 구분자 경계에서만 prefix 로 인정
+		assertNull(r.classify("/api/qrsx"));
+		assertNull(r.classify("/api/qr"));
+		assertNull(r.classify("/api"));
+	}
+
+	@Test
+	void exactPathDoesNotMatchChildren() {
+		PublicRoutes r = routes(List.of("/api/ice-config"), List.of("/error"));
+
+		assertEquals(PublicRoutes.Access.ANONYMOUS, r.classify("/api/ice-config"));
+		assertNull(r.classify("/api/ice-config/x"));
+		assertEquals(PublicRoutes.Access.OPTIONAL_AUTH, r.classify("/error"));
+		assertNull(r.classify("/errors"));
+	}
+
+	// 더 구체적인(긴) 규칙이 우선
+	@Test
+	void longestMatchWins() {
+		PublicRoutes r = routes(List.of("/api/**"), List.of("/api/relay/**", "/api/user/signup"));
+
+		assertEquals(PublicRoutes.Access.ANONYMOUS, r.classify("/api/chat"));
+		assertEquals(PublicRoutes.Access.OPTIONAL_AUTH, r.classify("/api/relay/abc"));
+		assertEquals(PublicRoutes.Access.OPTIONAL_AUTH, r.classify("/api/user/signup"));
+		assertEquals(PublicRoutes.Access.ANONYMOUS, r.classify("/api/user/signup/more"));
+		assertTrue(r.isAnonymous("/api/chat"));
+		assertFalse(r.isAnonymous("/api/relay/abc"));
+	}
+
+	@Test
+	void defaultsCoverKnownRoutes() {
+		PublicRoutes r = new PublicRoutes(new PublicRouteProperties());
+
+		assertTrue(r.isAnonymous("/api/auth/login"));
+		assertTrue(r.isAnonymous("/ws/signaling"));
+		assertEquals(PublicRoutes.Access.OPTIONAL_AUTH, r.classify("/actuator/health"));
+		assertNull(r.classify("/api/user/me"));
+		assertNull(r.classify(null));
+		assertTrue(List.of(r.permitAllPatterns()).containsAll(List.of("/ws/**", "/actuator/health")));
+	}
+
+	@Test
+	void rejectsUnsupportedPatterns() {
+		assertThrows(IllegalArgumentException.class, () -> routes(List.of("api/**"), List.of()));
+		assertThrows(IllegalArgumentException.class, () -> routes(List.of("/api/*/x"), List.of()));
+	}
+}
@@ -0,0 +1,125 @@
+package com.example.SafeTag_BE.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordMatcherTest {
+
+	private static List<String> found(KeywordMatcher m, String text) {
+		List<String> out = new ArrayList<>();
+		for (KeywordMatcher.Match match : m.findAll(text)) out.add(match.toString());
+		return out;
+	}
+
+	// 교과서 예제: 겹치는 매칭과 출력 링크(he <- she) 모두 나와야 함
+	@Test
+	void findsOverlappingMatchesInEndOrder() {
+		KeywordMatcher m = KeywordMatcher.of(List.of("he", "she", "his", "hers"));
+
+		assertEquals(List.of("she@1", "he@2", "hers@2"), found(m, "ushers"));
+		assertEquals(List.of("his@0"), found(m, "his"));
+	}
+
+	@Test
+	void ignoresCaseAndReportsOffsetsInOriginalText() {
+		KeywordMatcher m = KeywordMatcher.of(List.of("Disabled", "장애인"));
+		String text = "[DISABLED] 장애인 주차 disabled";
+
+		List<KeywordMatcher.Match> matches = m.findAll(text);
+		assertEquals(3, matches.size());
+		for (KeywordMatcher.Match match : matches) {
+			assertTrue(text.substring(match.start(), match.end()).equalsIgnoreCase(match.keyword()), match.toString());
+		}
+		assertEquals(1, matches.get(0).start());
+		assertEquals("disabled", matches.get(0).keyword());
+	}
+
+	// 실패 링크를 타고 돌아가야 찾을 수 있는 경우
+	@Test
+	void followsFailureLinks() {
+		KeywordMatcher m = KeywordMatcher.of(List.of("abcd", "bc", "c"));
+
+		assertEquals(List.of("bc@1", "c@2"), found(m, "abce"));
+		assertEquals(List.of("bc@1", "c@2", "abcd@0"), found(m, "abcd"));
+		assertEquals(List.of("c@0", "c@1", "c@2"), found(m, "ccc"));
+	}
+
+	@Test
+	void containsAnyStopsAtFirstMatch() {
+		KeywordMatcher m = KeywordMatcher.of(List.of("주차", "표지"));
+
+		assertTrue(m.containsAny("장애인 주차 구역"));
+		assertTrue(m.containsAny("표지"));
+		assertFalse(m.containsAny("장애인 전용"));
+		assertFalse(m.containsAny(""));
+		assertFalse(m.containsAny(null));
+	}
+
+	@Test
+	void dropsBlankAndDuplicateKeywords() {
+		KeywordMatcher m = KeywordMatcher.of(Arrays.asList("Foo", null, " ", "", "foo", " FOO ", "bar"));
+
+		assertEquals(List.of("foo", "bar"), m.keywords());
+		assertEquals(List.of("foo@0"), found(m, "FOO"));
+	}
+
+	@Test
+	void emptyMatcherFindsNothing() {
+		for (KeywordMatcher m : new KeywordMatcher[]{KeywordMatcher.of(List.of()), KeywordMatcher.of(null)}) {
+			assertTrue(m.isEmpty());
+			assertTrue(m.findAll("anything").isEmpty());
+			assertFalse(m.containsAny("anything"));
+		}
+	}
+
+	@Test
+	void nullTextFindsNothing() {
+		KeywordMatcher m = KeywordMatcher.of(List.of("a"));
+
+		assertTrue(m.findAll(null).isEmpty());
+	}
+
+	// 작은 알파벳으로 겹침/접두사가 자주 생기게 만들고, 키워드마다 indexOf 로 찾은 결과와 비교
+	@Test
+	void matchesBruteForceOracle() {
+		Random rnd = new Random(20261017L);
+		String alphabet = "abAB가나";
+		for (int round = 0; round < 500; round++) {
+			List<String> keywords = new ArrayList<>();
+			for (int i = rnd.nextInt(8); i >= 0; i--) keywords.add(random(rnd, alphabet, 1 + rnd.nextInt(4)));
+			String text = random(rnd, alphabet, rnd.nextInt(60));
+			KeywordMatcher m = KeywordMatcher.of(keywords);
+
+			List<KeywordMatcher.Match> expected = oracle(m.keywords(), text);
+			List<KeywordMatcher.Match> actual = new ArrayList<>(m.findAll(text));
+			// findAll 은 끝 위치 순이므로 같은 기준으로 정렬해서 비교
+			Comparator<KeywordMatcher.Match> byEnd = Comparator.comparingInt(KeywordMatcher.Match::end)
+					.thenComparingInt(KeywordMatcher.Match::start);
+			assertEquals(expected.stream().sorted(byEnd).toList(), actual, keywords + " / " + text);
+			assertEquals(!expected.isEmpty(), m.containsAny(text), keywords + " / " + text);
+		}
+	}
+
+	private static String random(Random rnd, String alphabet, int length) {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) sb.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+		return sb.toString();
+	}
+
+	private static List<KeywordMatcher.Match> oracle(List<String> keywords, String text) {
+		String lower = text.toLowerCase(Locale.ROOT);
+		List<KeywordMatcher.Match> out = new ArrayList<>();
+		for (String k : keywords) {
+			for (int i = lower.indexOf(k); i >= 0; i = lower.indexOf(k, i + 1)) out.add(new KeywordMatcher.Match(k, i));
+		}
+		return out;
+	}
+}
@@ -0,0 +1,163 @@
+package com.example.SafeTag_BE.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** JDK HttpServer 로 띄운 가짜 OCR 서버에 대해 실제 요청을 보내 본다 */
+class OcrClientTest {
+
+	private HttpServer server;
+	private Path uploads;
+	private OcrClient client;
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	// 서버가 받은 요청 본문 / Content-Type
+	private final List<String> bodies = new CopyOnWriteArrayList<>();
+	private final AtomicReference<String> contentType = new AtomicReference<>();
+	private final AtomicInteger status = new AtomicInteger(200);
+	private final AtomicReference<String> response = new AtomicReference<>("{\"text\":\"\"}");
+
+	@BeforeEach
+	void setUp() throws IOException {
+		uploads = Files.createTempDirectory("ocr-client-test");
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", this::handle);
+		server.start();
+		String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+		client = new OcrClient(registry, base, uploads.toString(), 1000, 5000, HttpClient.Version.HTTP_1_1);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		server.stop(0);
+		try (var files = Files.walk(uploads)) {
+			files.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+		}
+	}
+
+	private void handle(HttpExchange ex) throws IOException {
+		contentType.set(ex.getRequestHeaders().getFirst("Content-Type"));
+		bodies.add(ex.getRequestURI().getPath() + "\n"
+				+ new String(ex.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+		byte[] out = response.get().getBytes(StandardCharsets.UTF_8);
+		ex.getResponseHeaders().add("Content-Type", "application/json");
+		ex.sendResponseHeaders(status.get(), out.length);
+		try (OutputStream os = ex.getResponseBody()) {
+			os.write(out);
+		}
+	}
+
+	private String upload(String name, String content) throws IOException {
+		Files.writeString(uploads.resolve(name), content);
+		return name;
+	}
+
+	@Test
+	void recognizeSendsFileAsMultipart() throws IOException {
+		String fileId = upload("doc.png", "PNGDATA-123");
+		response.set("{\"text\":\"장애인 주차 표지\"}");
+
+		assertEquals("장애인 주차 표지", client.recognizeAsync(fileId).join());
+
+		assertEquals(1, bodies.size());
+		String body = bodies.get(0);
+		assertTrue(body.startsWith("/ocr\n"));
+		String boundary = contentType.get().substring(contentType.get().indexOf("boundary=") + 9);
+		assertTrue(contentType.get().startsWith("multipart/form-data"));
+		assertTrue(body.contains("--" + boundary + "\r\n"));
+		assertTrue(body.contains("name=\"file\"; filename=\"doc.png\""));
+		assertTrue(body.contains("Content-Type: image/png\r\n\r\nPNGDATA-123\r\n--" + boundary + "--"));
+		assertEquals(1, registry.get("safetag.ocr.call").tag("result", "ok").counter().count());
+	}
+
+	// 파일이 없으면 요청 없이 재시도 불가 오류
+	@Test
+	void missingOrBlankFileFailsWithoutRequest() {
+		for (String fileId : new String[]{"nope.png", null, " "}) {
+			CompletionException e = assertThrows(CompletionException.class, () -> client.recognizeAsync(fileId).join());
+			assertTrue(e.getCause() instanceof OcrClient.MissingFileException, String.valueOf(e.getCause()));
+		}
+		assertTrue(bodies.isEmpty());
+	}
+
+	@Test
+	void serverErrorFailsTheFuture() throws IOException {
+		String fileId = upload("doc.png", "x");
+		status.set(500);
+		response.set("{\"detail\":\"boom\"}");
+
+		CompletionException e = assertThrows(CompletionException.class, () -> client.recognizeAsync(fileId).join());
+		assertTrue(e.getCause() instanceof IllegalStateException);
+		assertFalse(e.getCause() instanceof OcrClient.MissingFileException);
+		assertEquals(1, registry.get("safetag.ocr.call").tag("result", "error").counter().count());
+	}
+
+	// 없는 파일은 보내지 않고 그 자리만 재시도 불가로 채운다
+	@Test
+	void batchKeepsOrderAndSkipsMissingFiles() throws IOException {
+		String a = upload("a.png", "AAA");
+		String c = upload("c.png", "CCC");
+		response.set("{\"results\":[{\"text\":\"첫째\"},{\"error\":\"blurry\"}]}");
+
+		List<OcrClient.Result> results = client.recognizeBatchAsync(List.of(a, "b.png", c)).join();
+
+		assertEquals(3, results.size());
+		assertTrue(results.get(0).ok());
+		assertEquals("첫째", results.get(0).text());
+
+		assertFalse(results.get(1).ok());
+		assertFalse(results.get(1).retryable());
+
+		assertFalse(results.get(2).ok());
+		assertEquals("blurry", results.get(2).error());
+		assertTrue(results.get(2).retryable());
+
+		assertEquals(1, bodies.size());
+		String body = bodies.get(0);
+		assertTrue(body.startsWith("/ocr/batch\n"));
+		assertTrue(body.contains("name=\"files\"; filename=\"a.png\""));
+		assertTrue(body.contains("name=\"files\"; filename=\"c.png\""));
+		assertFalse(body.contains("b.png"));
+		assertTrue(body.indexOf("AAA") < body.indexOf("CCC"));
+	}
+
+	@Test
+	void batchWithOnlyMissingFilesSendsNothing() {
+		List<OcrClient.Result> results = client.recognizeBatchAsync(List.of("x.png", "y.png")).join();
+
+		assertEquals(2, results.size());
+		assertTrue(results.stream().noneMatch(OcrClient.Result::ok));
+		assertTrue(results.stream().noneMatch(OcrClient.Result::retryable));
+		assertTrue(bodies.isEmpty());
+	}
+
+	@Test
+	void batchCountMismatchFailsTheFuture() throws IOException {
+		String a = upload("a.png", "A");
+		String b = upload("b.png", "B");
+		response.set("{\"results\":[{\"text\":\"하나\"}]}");
+
+		CompletionException e = assertThrows(CompletionException.class,
+				() -> client.recognizeBatchAsync(List.of(a, b)).join());
+		assertTrue(e.getCause() instanceof IllegalStateException);
+	}
+}
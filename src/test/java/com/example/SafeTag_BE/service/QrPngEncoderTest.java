@@ -0,0 +1,78 @@
+package com.example.SafeTag_BE.service;
+
+import com.google.zxing.common.BitMatrix;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QrPngEncoderTest {
+
+	@Test
+	void roundTripsThroughImageIO() throws IOException {
+		BitMatrix m = random(37, 37, 1L);
+		assertPixelsMatch(m, decode(QrPngEncoder.encode(m)));
+	}
+
+	@Test
+	void handlesWidthsThatAreNotByteAligned() throws IOException {
+		for (int w : new int[]{1, 7, 9, 13, 250}) {
+			BitMatrix m = random(w, 5, w);
+			assertPixelsMatch(m, decode(QrPngEncoder.encode(m)));
+		}
+	}
+
+	@Test
+	void emptyAndFullMatrices() throws IOException {
+		BitMatrix white = new BitMatrix(16, 16);
+		BitMatrix black = new BitMatrix(16, 16);
+		for (int y = 0; y < 16; y++) {
+			for (int x = 0; x < 16; x++) black.set(x, y);
+		}
+		assertPixelsMatch(white, decode(QrPngEncoder.encode(white)));
+		assertPixelsMatch(black, decode(QrPngEncoder.encode(black)));
+	}
+
+	// 스레드별 버퍼를 재사용해도 이전 결과가 섞이지 않아야 함
+	@Test
+	void reusedBuffersGiveSameBytes() throws IOException {
+		BitMatrix a = random(45, 45, 7L);
+		BitMatrix b = random(21, 21, 8L);
+		byte[] first = QrPngEncoder.encode(a);
+		assertPixelsMatch(b, decode(QrPngEncoder.encode(b)));
+		assertArrayEquals(first, QrPngEncoder.encode(a));
+	}
+
+	private static BitMatrix random(int w, int h, long seed) {
+		Random rnd = new Random(seed);
+		BitMatrix m = new BitMatrix(w, h);
+		for (int y = 0; y < h; y++) {
+			for (int x = 0; x < w; x++) {
+				if (rnd.nextBoolean()) m.set(x, y);
+			}
+		}
+		return m;
+	}
+
+	private static BufferedImage decode(byte[] png) throws IOException {
+		BufferedImage img = ImageIO.read(new ByteArrayInputStream(png));
+		assertNotNull(img, "ImageIO 가 PNG 로 읽지 못함");
+		return img;
+	}
+
+	private static void assertPixelsMatch(BitMatrix m, BufferedImage img) {
+		assertEquals(m.getWidth(), img.getWidth());
+		assertEquals(m.getHeight(), img.getHeight());
+		for (int y = 0; y < m.getHeight(); y++) {
+			for (int x = 0; x < m.getWidth(); x++) {
+				int rgb = img.getRGB(x, y) & 0xFFFFFF;
+				assertEquals(m.get(x, y) ? 0x000000 : 0xFFFFFF, rgb, "pixel " + x + "," + y);
+			}
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.example.SafeTag_BE.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelayTicketServiceTest {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+	private final RelayTicketService service = new RelayTicketService();
+
+	@AfterEach
+	void tearDown() {
+		service.close();
+	}
+
+	private RelayTicketService signed(String secret) {
+		ReflectionTestUtils.setField(service, "signed", true);
+		ReflectionTestUtils.setField(service, "secret", secret);
+		service.init();
+		return service;
+	}
+
+	// 서비스와 같은 형식(kind.qrId.exp.mac)으로 직접 서명
+	private static String sign(String body) throws Exception {
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+		byte[] full = mac.doFinal(body.getBytes(StandardCharsets.UTF_8));
+		return body + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(full, 16));
+	}
+
+	private static String rejected(RelayTicketService s, String token, String kind) {
+		return assertThrows(IllegalArgumentException.class, () -> s.verify(token, kind)).getMessage();
+	}
+
+	@Test
+	void signedTicketRoundTrips() {
+		RelayTicketService s = signed(SECRET);
+		RelayTicketService.Ticket t = s.issue(42L, "owner");
+
+		assertEquals(42L, s.verify(t.token(), "owner"));
+		assertTrue(t.ttlSec() > 0);
+	}
+
+	// 같은 키를 쓰는 다른 노드도 검증 가능
+	@Test
+	void ticketFromAnotherNodeWithSameSecretVerifies() throws Exception {
+		RelayTicketService s = signed(SECRET);
+		long exp = Instant.now().getEpochSecond() + 60;
+
+		assertEquals(7L, s.verify(sign("caller.7." + exp), "caller"));
+	}
+
+	@Test
+	void tamperedTicketsAreRejected() {
+		RelayTicketService s = signed(SECRET);
+		String token = s.issue(42L, "owner").token();
+		int d1 = token.indexOf('.');
+		int d3 = token.lastIndexOf('.');
+
+		// qrId 변경
+		assertEquals("Invalid ticket", rejected(s, token.replaceFirst("\\.42\\.", ".43."), "owner"));
+		// mac 변경 (마지막 문자는 남는 비트라 첫 문자를 바꿈)
+		char first = token.charAt(d3 + 1);
+		String badMac = token.substring(0, d3 + 1) + (first == 'A' ? 'B' : 'A') + token.substring(d3 + 2);
+		assertEquals("Invalid ticket", rejected(s, badMac, "owner"));
+		// kind 를 바꿔 재사용 시도
+		assertEquals("Invalid ticket", rejected(s, "caller" + token.substring(d1), "caller"));
+		// 형식 오류
+		assertEquals("Invalid ticket", rejected(s, token.substring(0, d3), "owner"));
+		assertEquals("Invalid ticket", rejected(s, token + ".x", "owner"));
+		assertEquals("Invalid ticket", rejected(s, token.substring(0, d3) + ".!!!", "owner"));
+		assertEquals("Invalid ticket", rejected(s, null, "owner"));
+	}
+
+	@Test
+	void validTicketForOtherKindIsRejected() {
+		RelayTicketService s = signed(SECRET);
+		String token = s.issue(42L, "owner").token();
+
+		assertEquals("Kind mismatch", rejected(s, token, "caller"));
+		assertEquals("Kind mismatch", rejected(s, token, "own"));
+	}
+
+	@Test
+	void expiredTicketIsRejected() throws Exception {
+		RelayTicketService s = signed(SECRET);
+		long past = Instant.now().getEpochSecond() - 1;
+
+		assertEquals("Expired ticket", rejected(s, sign("owner.42." + past), "owner"));
+	}
+
+	// 다른 키로 서명한 티켓은 통과하지 못함
+	@Test
+	void ticketSignedWithOtherSecretIsRejected() {
+		RelayTicketService other = new RelayTicketService();
+		ReflectionTestUtils.setField(other, "signed", true);
+		ReflectionTestUtils.setField(other, "secret", "another-secret-of-at-least-32-bytes!");
+		other.init();
+		String token = other.issue(42L, "owner").token();
+		other.close();
+
+		assertEquals("Invalid ticket", rejected(signed(SECRET), token, "owner"));
+	}
+
+	@Test
+	void shortSecretFailsStartup() {
+		ReflectionTestUtils.setField(service, "signed", true);
+		ReflectionTestUtils.setField(service, "secret", "short");
+
+		assertThrows(IllegalStateException.class, service::init);
+	}
+
+	// 비우면 이 노드 전용 임시 키
+	@Test
+	void blankSecretUsesRandomKey() {
+		RelayTicketService s = signed("");
+		String token = s.issue(1L, "owner").token();
+
+		assertEquals(1L, s.verify(token, "owner"));
+	}
+
+	@Test
+	void storedTicketRoundTripsWhenUnsigned() {
+		String token = service.issue(5L, "owner").token();
+
+		assertEquals(5L, service.verify(token, "owner"));
+		assertEquals("Kind mismatch", rejected(service, token, "caller"));
+		assertEquals("Invalid ticket", rejected(service, "owner.5.unknown", "owner"));
+	}
+}
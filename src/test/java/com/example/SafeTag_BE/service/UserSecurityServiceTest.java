@@ -0,0 +1,68 @@
+package com.example.SafeTag_BE.service;
+
+import com.example.SafeTag_BE.entity.User;
+import com.example.SafeTag_BE.repository.AdminRepository;
+import com.example.SafeTag_BE.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserSecurityServiceTest {
+
+	private UserRepository users;
+	private UserSecurityService service;
+
+	@BeforeEach
+	void setUp() {
+		users = mock(UserRepository.class);
+		User user = new User();
+		user.setId(7L);
+		user.setUsername("driver");
+		user.setPassword("$2a$10$hash");
+		when(users.findById(7L)).thenReturn(Optional.of(user));
+		service = new UserSecurityService(users, mock(AdminRepository.class));
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.close();
+	}
+
+	// 토큰 인증용 principal 에는 비밀번호 해시를 싣지 않음
+	@Test
+	void loadUserByIdCarriesNoCredential() {
+		UserDetails details = service.loadUserById(7L);
+
+		assertEquals("driver", details.getUsername());
+		assertEquals("", details.getPassword());
+		assertEquals("ROLE_USER", details.getAuthorities().iterator().next().getAuthority());
+	}
+
+	@Test
+	void cacheIsOffByDefault() {
+		service.loadUserById(7L);
+		service.loadUserById(7L);
+
+		verify(users, times(2)).findById(7L);
+	}
+
+	@Test
+	void cachedUntilEvictedWhenEnabled() {
+		ReflectionTestUtils.setField(service, "principalCacheTtlSeconds", 60L);
+
+		service.loadUserById(7L);
+		assertEquals("", service.loadUserById(7L).getPassword());
+		verify(users, times(1)).findById(7L);
+
+		service.evict(7L);
+		service.loadUserById(7L);
+		verify(users, times(2)).findById(7L);
+	}
+}
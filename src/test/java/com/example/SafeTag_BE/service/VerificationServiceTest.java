@@ -0,0 +1,81 @@
+package com.example.SafeTag_BE.service;
+
+import com.example.SafeTag_BE.dto.VerifyStartRequestDto;
+import com.example.SafeTag_BE.entity.OcrJob;
+import com.example.SafeTag_BE.entity.OcrJobStatus;
+import com.example.SafeTag_BE.entity.User;
+import com.example.SafeTag_BE.entity.Verification;
+import com.example.SafeTag_BE.enums.VerificationType;
+import com.example.SafeTag_BE.exception.ApiException;
+import com.example.SafeTag_BE.job.OcrJobScheduler;
+import com.example.SafeTag_BE.repository.OcrJobRepository;
+import com.example.SafeTag_BE.repository.UserRepository;
+import com.example.SafeTag_BE.repository.VerificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class VerificationServiceTest {
+
+	private final VerificationRepository verifications = mock(VerificationRepository.class);
+	private final UserRepository users = mock(UserRepository.class);
+	private final OcrJobRepository jobs = mock(OcrJobRepository.class);
+	private final VerificationService service =
+			new VerificationService(verifications, users, jobs, mock(OcrJobScheduler.class));
+	private final VerifyStartRequestDto req = new VerifyStartRequestDto();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "maxPending", 3L);
+		ReflectionTestUtils.setField(req, "type", VerificationType.RESIDENT);
+		ReflectionTestUtils.setField(req, "fileIds", List.of("file-1"));
+		when(users.findById(1L)).thenReturn(Optional.of(new User()));
+		when(verifications.save(any())).thenAnswer(inv -> {
+			Verification v = inv.getArgument(0);
+			v.setId(10L);
+			return v;
+		});
+		// afterCommit 등록용
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	// 대기 작업이 한도에 닿으면 아무것도 기록하지 않고 거절
+	@Test
+	void rejectsWhenOutboxIsFull() {
+		when(jobs.countByStatus(OcrJobStatus.PENDING)).thenReturn(3L);
+
+		ApiException e = assertThrows(ApiException.class, () -> service.startVerification(1L, req));
+		assertEquals("OCR_BUSY", e.getCode());
+		verify(verifications, never()).save(any());
+		verify(jobs, never()).save(any());
+	}
+
+	@Test
+	void acceptsBelowLimit() {
+		when(jobs.countByStatus(OcrJobStatus.PENDING)).thenReturn(2L);
+
+		assertEquals(10L, service.startVerification(1L, req).getVerificationId());
+		verify(jobs).save(any(OcrJob.class));
+	}
+
+	@Test
+	void zeroLimitDisablesCheck() {
+		ReflectionTestUtils.setField(service, "maxPending", 0L);
+		service.startVerification(1L, req);
+		verify(jobs, never()).countByStatus(any());
+	}
+}
@@ -0,0 +1,146 @@
+package com.example.SafeTag_BE.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringStoreTest {
+
+	private final List<ExpiringStore<?, ?>> opened = new ArrayList<>();
+
+	private <K, V> ExpiringStore<K, V> open(String name) {
+		return open(name, 0);
+	}
+
+	private <K, V> ExpiringStore<K, V> open(String name, int maxEntries) {
+		ExpiringStore<K, V> store = ExpiringStore.create(name, maxEntries);
+		opened.add(store);
+		return store;
+	}
+
+	@AfterEach
+	void tearDown() {
+		opened.forEach(ExpiringStore::close);
+	}
+
+	@Test
+	void returnsValueUntilExpiry() {
+		ExpiringStore<String, String> store = open("test-get");
+		store.put("live", "v", Duration.ofMinutes(1));
+		store.put("dead", "v", Instant.now().minusMillis(1));
+
+		assertEquals("v", store.get("live"));
+		// sweep 전이라도 만료된 값은 반환하지 않음
+		assertNull(store.get("dead"));
+		assertEquals(1, store.size());
+		assertEquals(1, store.expiredCount());
+	}
+
+	@Test
+	void sweepRemovesExpiredEntries() {
+		ExpiringStore<String, String> store = open("test-sweep");
+		long now = System.currentTimeMillis();
+		store.put("a", "1", Instant.ofEpochMilli(now + 1_500));
+		store.put("b", "2", Instant.ofEpochMilli(now + 3_500));
+		store.put("c", "3", Duration.ofHours(1));
+
+		store.advance(now + 2_000);
+		assertEquals(2, store.size());
+		store.advance(now + 4_000);
+		assertEquals(1, store.size());
+		assertEquals("3", store.get("c"));
+		assertEquals(2, store.expiredCount());
+	}
+
+	// 덮어쓴 뒤에는 이전 값의 만료 시각으로 지워지지 않아야 함
+	@Test
+	void overwriteIsNotExpiredByOldNode() {
+		ExpiringStore<String, String> store = open("test-overwrite");
+		long now = System.currentTimeMillis();
+		store.put("k", "old", Instant.ofEpochMilli(now + 1_000));
+		store.put("k", "new", Duration.ofHours(1));
+
+		store.advance(now + 5_000);
+		assertEquals("new", store.get("k"));
+		assertEquals(0, store.expiredCount());
+	}
+
+	@Test
+	void removeReturnsValue() {
+		ExpiringStore<String, String> store = open("test-remove");
+		store.put("k", "v", Duration.ofMinutes(1));
+		assertEquals("v", store.remove("k"));
+		assertNull(store.remove("k"));
+		assertNull(store.get("k"));
+	}
+
+	@Test
+	void maxEntriesRejectsNewKeysButAllowsUpdates() {
+		ExpiringStore<String, String> store = open("test-bounded", 2);
+		assertTrue(store.put("a", "1", Duration.ofMinutes(1)));
+		assertTrue(store.put("b", "2", Duration.ofMinutes(1)));
+		assertFalse(store.put("c", "3", Duration.ofMinutes(1)));
+		assertTrue(store.put("a", "1b", Duration.ofMinutes(1)));
+
+		assertNull(store.get("c"));
+		assertEquals("1b", store.get("a"));
+		assertEquals(2, store.size());
+	}
+
+	@Test
+	void putIfAbsentKeepsLiveValue() {
+		ExpiringStore<String, String> store = open("test-put-if-absent");
+		assertNull(store.putIfAbsent("k", "first", Duration.ofMinutes(1)));
+		assertEquals("first", store.putIfAbsent("k", "second", Duration.ofMinutes(1)));
+		assertEquals("first", store.get("k"));
+
+		// 만료된 값은 없는 것으로 봄
+		store.put("old", "stale", Instant.now().minusMillis(1));
+		assertNull(store.putIfAbsent("old", "fresh", Duration.ofMinutes(1)));
+		assertEquals("fresh", store.get("old"));
+	}
+
+	@Test
+	void forEachValueSkipsExpired() {
+		ExpiringStore<String, String> store = open("test-for-each");
+		store.put("a", "live", Duration.ofMinutes(1));
+		store.put("b", "dead", Instant.now().minusMillis(1));
+
+		List<String> seen = new ArrayList<>();
+		store.forEachValue(seen::add);
+		assertEquals(List.of("live"), seen);
+	}
+
+	// 같은 이름이 열려 있으면 접미사로 구분, 닫으면 이름을 다시 쓸 수 있음
+	@Test
+	void duplicateNamesAreSuffixedUntilClosed() {
+		ExpiringStore<String, String> first = open("test-dup");
+		ExpiringStore<String, String> second = open("test-dup");
+		assertEquals("test-dup", first.name());
+		assertEquals("test-dup-2", second.name());
+
+		first.close();
+		assertEquals("test-dup", open("test-dup").name());
+	}
+
+	@Test
+	void closeNotifiesListenersAndClears() {
+		List<String> events = new ArrayList<>();
+		ExpiringStore.forEachStore(s -> events.add("open " + s.name()), s -> events.add("close " + s.name()));
+
+		ExpiringStore<String, String> store = open("test-close");
+		store.put("k", "v", Duration.ofMinutes(1));
+		store.close();
+		store.close(); // 두 번 닫아도 한 번만 알림
+
+		assertTrue(events.contains("open test-close"));
+		assertEquals(1, events.stream().filter("close test-close"::equals).count());
+		assertEquals(0, store.size());
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinarySignalCodecTest {
+
+	private final ObjectMapper om = new ObjectMapper();
+	private final JsonFactory factory = om.getFactory();
+
+	@Test
+	void encodeDecodeRoundTrip() {
+		for (BinarySignalCodec.Frame f : new BinarySignalCodec.Frame[]{
+				new BinarySignalCodec.Frame("join", "room-1", null),
+				new BinarySignalCodec.Frame("offer", "room-1", "{\"type\":\"offer\",\"sdp\":\"v=0\"}"),
+				new BinarySignalCodec.Frame("ice-batch", "방-한글", "[{\"candidate\":\"a\"}]"),
+				// 표에 없는 type 은 문자열로
+				new BinarySignalCodec.Frame("custom-type", "r", "1")
+		}) {
+			assertEquals(f, BinarySignalCodec.decode(BinarySignalCodec.encode(f)));
+		}
+	}
+
+	@Test
+	void knownTypeUsesOneByteCode() {
+		ByteBuffer buf = BinarySignalCodec.encode(new BinarySignalCodec.Frame("ice", "ab", null));
+		// 버전 + 코드 + 길이(2) + "ab"
+		assertEquals(6, buf.remaining());
+		assertEquals(1, buf.get(0));
+		assertEquals(7, buf.get(1));
+	}
+
+	@Test
+	void decodeDoesNotConsumeInput() {
+		ByteBuffer buf = BinarySignalCodec.encode(new BinarySignalCodec.Frame("answer", "r", "\"x\""));
+		int before = buf.position();
+		BinarySignalCodec.decode(buf);
+		assertEquals(before, buf.position());
+	}
+
+	@Test
+	void rejectsBadFrames() {
+		assertThrows(IllegalArgumentException.class, () -> BinarySignalCodec.decode(ByteBuffer.wrap(new byte[]{2, 1, 0, 0})));
+		assertThrows(IllegalArgumentException.class, () -> BinarySignalCodec.decode(ByteBuffer.wrap(new byte[]{1, 99, 0, 0})));
+		assertThrows(IllegalArgumentException.class, () -> BinarySignalCodec.decode(ByteBuffer.wrap(new byte[]{1, 1, 0, 5, 'a'})));
+		assertThrows(IllegalArgumentException.class, () -> BinarySignalCodec.decode(ByteBuffer.wrap(new byte[0])));
+	}
+
+	// JSON -> 프레임 -> JSON 이 같은 의미의 메시지여야 함
+	@Test
+	void jsonRoundTrip() throws IOException {
+		String[] messages = {
+				"{\"type\":\"join\",\"sessionId\":\"room-1\"}",
+				"{\"type\":\"offer\",\"sessionId\":\"room-1\",\"sdp\":{\"type\":\"offer\",\"sdp\":\"v=0\\r\\n\"}}",
+				"{\"type\":\"ice\",\"sessionId\":\"room-1\",\"candidate\":{\"candidate\":\"candidate:1\",\"sdpMLineIndex\":0}}",
+				"{\"type\":\"ice\",\"sessionId\":\"room-1\",\"candidate\":null}",
+				"{\"type\":\"ice-batch\",\"sessionId\":\"room-1\",\"candidates\":[{\"candidate\":\"a\"},{\"candidate\":\"b\"}]}"
+		};
+		for (String json : messages) {
+			BinarySignalCodec.Frame f = BinarySignalCodec.fromJson(factory, json);
+			BinarySignalCodec.Frame decoded = BinarySignalCodec.decode(BinarySignalCodec.encode(f));
+			assertEquals(om.readTree(json), om.readTree(BinarySignalCodec.toJson(decoded)), json);
+		}
+	}
+
+	@Test
+	void toJsonEscapesEnvelopeStrings() throws IOException {
+		String json = BinarySignalCodec.toJson(new BinarySignalCodec.Frame("joined", "a\"b\\c", null));
+		assertEquals("a\"b\\c", om.readTree(json).get("sessionId").asText());
+	}
+
+	// 본문은 JSON 값 하나여야 함: 봉투에 필드를 끼워 넣거나 깨뜨리는 본문은 거부
+	@Test
+	void rejectsBodyThatIsNotOneJsonValue() {
+		String[] bodies = {
+				"{\"a\":1},\"type\":\"left\"",
+				"{\"a\":1",
+				"{\"a\":1}}",
+				"1 2",
+				"{\"a\":"
+		};
+		for (String body : bodies) {
+			BinarySignalCodec.Frame f = new BinarySignalCodec.Frame("offer", "r", body);
+			assertThrows(IllegalArgumentException.class, () -> BinarySignalCodec.toJson(f), body);
+			ByteBuffer buf = BinarySignalCodec.encode(f);
+			assertThrows(IllegalArgumentException.class, () -> BinarySignalCodec.decode(buf), body);
+		}
+		// 빈 본문은 바이너리에서는 "본문 없음"이지만 toJson 에 직접 넘기면 거부
+		assertThrows(IllegalArgumentException.class,
+				() -> BinarySignalCodec.toJson(new BinarySignalCodec.Frame("offer", "r", "")));
+	}
+
+	@Test
+	void bodyFieldIgnoresTypeCase() throws IOException {
+		String json = BinarySignalCodec.toJson(new BinarySignalCodec.Frame("ICE", "r", "{\"candidate\":\"a\"}"));
+		assertEquals("a", om.readTree(json).at("/candidate/candidate").asText());
+	}
+
+	@Test
+	void fromJsonNeedsTypeAndSession() throws IOException {
+		assertNull(BinarySignalCodec.fromJson(factory, "{\"type\":\"join\"}"));
+		assertNull(BinarySignalCodec.fromJson(factory, "{\"sessionId\":\"r\"}"));
+	}
+}
@@ -0,0 +1,155 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.example.SafeTag_BE.config.SignalingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** 내장 Redis 에 노드 두 개를 붙여 디렉터리/릴레이/죽은 노드 정리를 확인 */
+class RedisSignalingClusterRedisTest {
+
+	private static final String ROOM_KEY = "signaling:room:r1";
+
+	private static RedisServer server;
+	private static LettuceConnectionFactory factory;
+	private static StringRedisTemplate redis;
+
+	private final List<RedisSignalingCluster> nodes = new ArrayList<>();
+
+	@BeforeAll
+	static void startRedis() throws IOException {
+		int port;
+		try (ServerSocket s = new ServerSocket(0)) {
+			port = s.getLocalPort();
+		}
+		server = new RedisServer(port);
+		server.start();
+		factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+		factory.afterPropertiesSet();
+		factory.start();
+		redis = new StringRedisTemplate(factory);
+	}
+
+	@AfterAll
+	static void stopRedis() throws IOException {
+		factory.destroy();
+		server.stop();
+	}
+
+	@BeforeEach
+	void flush() {
+		redis.getRequiredConnectionFactory().getConnection().serverCommands().flushAll();
+	}
+
+	@AfterEach
+	void tearDown() {
+		nodes.forEach(RedisSignalingCluster::shutdown);
+	}
+
+	private RedisSignalingCluster node(String id) {
+		SignalingProperties props = new SignalingProperties();
+		props.getCluster().setNodeId(id);
+		props.getCluster().setHeartbeatSeconds(1);
+		RedisSignalingCluster c = new RedisSignalingCluster(props, factory, redis, new SimpleMeterRegistry());
+		nodes.add(c);
+		return c;
+	}
+
+	private static void await(String what, BooleanSupplier cond) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!cond.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) fail("timed out waiting for " + what);
+			Thread.sleep(20);
+		}
+	}
+
+	@Test
+	void nodesSeeEachOtherAndRelayFrames() throws Exception {
+		RedisSignalingCluster a = node("node-a");
+		RedisSignalingCluster b = node("node-b");
+		List<String> atA = new CopyOnWriteArrayList<>();
+		List<String> atB = new CopyOnWriteArrayList<>();
+		a.onRemoteMessage((room, payload) -> atA.add(room + "|" + payload));
+		b.onRemoteMessage((room, payload) -> atB.add(room + "|" + payload));
+
+		a.joined("r1");
+		b.joined("r1");
+		b.joined("r1");
+		await("directory", () -> a.remoteMembers("r1") == 2 && b.remoteMembers("r1") == 1);
+
+		a.publish("r1", "{\"type\":\"offer\"}");
+		await("relay", () -> atB.size() == 1);
+		assertEquals("r1|{\"type\":\"offer\"}", atB.get(0));
+		assertTrue(atA.isEmpty());
+
+		b.left("r1", false);
+		await("one left", () -> a.remoteMembers("r1") == 1);
+		b.left("r1", true);
+		await("all left", () -> a.remoteMembers("r1") == 0);
+		assertNull(redis.opsForHash().get(ROOM_KEY, "node-b"));
+	}
+
+	// 정리 없이 죽은 노드(하트비트 키 없음)의 항목은 세지 않고 지운다
+	@Test
+	void deadNodeEntriesAgeOut() throws Exception {
+		RedisSignalingCluster a = node("node-a");
+		List<String> changed = new CopyOnWriteArrayList<>();
+		a.onPresenceChange(changed::add);
+
+		// 하트비트가 곧 끊길 노드
+		redis.opsForValue().set("signaling:node:node-x", "1", Duration.ofSeconds(1));
+		redis.opsForHash().put(ROOM_KEY, "node-x", "2");
+		// 하트비트가 이미 끊긴 노드
+		redis.opsForHash().put(ROOM_KEY, "node-dead", "5");
+
+		a.joined("r1");
+		await("live node counted", () -> a.remoteMembers("r1") == 2);
+		assertFalse(redis.opsForHash().hasKey(ROOM_KEY, "node-dead"));
+
+		// node-x 키가 만료된 뒤 하트비트가 다시 읽으면 0 으로 돌아오고 알림
+		await("expired node dropped", () -> a.remoteMembers("r1") == 0);
+		assertFalse(redis.opsForHash().hasKey(ROOM_KEY, "node-x"));
+		assertTrue(changed.contains("r1"));
+	}
+
+	// 누가 항목을 지워도 다음 하트비트 때 이 노드 참가자 수를 다시 쓴다
+	@Test
+	void ownEntryIsRewrittenByHeartbeat() throws Exception {
+		RedisSignalingCluster a = node("node-a");
+		a.joined("r1");
+		await("registered", () -> "1".equals(redis.opsForHash().get(ROOM_KEY, "node-a")));
+
+		redis.opsForHash().delete(ROOM_KEY, "node-a");
+		await("rewritten", () -> "1".equals(redis.opsForHash().get(ROOM_KEY, "node-a")));
+		assertTrue(redis.hasKey("signaling:node:node-a"));
+	}
+
+	// 종료 시 자기 항목과 하트비트 키를 지움
+	@Test
+	void shutdownRemovesOwnEntries() throws Exception {
+		RedisSignalingCluster a = node("node-a");
+		a.joined("r1");
+		await("registered", () -> redis.opsForHash().hasKey(ROOM_KEY, "node-a"));
+
+		a.shutdown();
+		assertFalse(redis.opsForHash().hasKey(ROOM_KEY, "node-a"));
+		assertFalse(redis.hasKey("signaling:node:node-a"));
+	}
+}
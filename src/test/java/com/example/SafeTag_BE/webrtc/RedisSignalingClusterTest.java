@@ -0,0 +1,77 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.example.SafeTag_BE.config.SignalingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/** Redis 없이 메시지 필터링/publish 생략만 확인 (구독/디렉터리는 RedisSignalingClusterRedisTest) */
+class RedisSignalingClusterTest {
+
+	private StringRedisTemplate redis;
+	private RedisSignalingCluster cluster;
+	private final List<String> delivered = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		SignalingProperties props = new SignalingProperties();
+		props.getCluster().setNodeId("node-a");
+		redis = mock(StringRedisTemplate.class);
+		cluster = new RedisSignalingCluster(props, mock(RedisConnectionFactory.class), redis, new SimpleMeterRegistry());
+		cluster.onRemoteMessage((room, payload) -> delivered.add(room + "|" + payload));
+	}
+
+	@AfterEach
+	void tearDown() {
+		cluster.shutdown();
+	}
+
+	@Test
+	void deliversFramesFromOtherNodesOnly() {
+		cluster.onMessage(message("signaling:room:r1", "node-b\n{\"type\":\"offer\"}"), null);
+		cluster.onMessage(message("signaling:room:r1", "node-a\n{\"type\":\"answer\"}"), null);
+		// 노드 id 가 prefix 만 같은 경우는 다른 노드
+		cluster.onMessage(message("signaling:room:r1", "node-a2\n{\"type\":\"ice\"}"), null);
+
+		assertEquals(List.of("r1|{\"type\":\"offer\"}", "r1|{\"type\":\"ice\"}"), delivered);
+	}
+
+	@Test
+	void ignoresMalformedMessages() {
+		cluster.onMessage(message("other:r1", "node-b\n{}"), null);
+		cluster.onMessage(message("signaling:room:r1", "no-newline"), null);
+		assertTrue(delivered.isEmpty());
+	}
+
+	@Test
+	void presenceMessageIsNotDelivered() {
+		cluster.onMessage(message("signaling:room:r1", "node-b\n\u0000presence"), null);
+		assertTrue(delivered.isEmpty());
+	}
+
+	// 디렉터리상 다른 노드에 참가자가 없으면 Redis 로 보내지 않음
+	@Test
+	void publishIsSkippedWithoutRemoteMembers() {
+		assertEquals(0, cluster.remoteMembers("r1"));
+		cluster.publish("r1", "{\"type\":\"offer\"}");
+		cluster.shutdown(); // io 스레드 비우기
+
+		verify(redis, never()).convertAndSend(anyString(), anyString());
+	}
+
+	private static DefaultMessage message(String channel, String body) {
+		return new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+	}
+}
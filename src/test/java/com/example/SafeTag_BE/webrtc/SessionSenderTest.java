@@ -0,0 +1,126 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.example.SafeTag_BE.config.SignalingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SessionSenderTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private SessionSender sender;
+
+	@BeforeEach
+	void setUp() {
+		SignalingProperties props = new SignalingProperties();
+		props.setSendThreads(1);
+		props.setSendTimeLimitMs(100);
+		sender = new SessionSender(props, registry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		sender.shutdown();
+	}
+
+	private static WebSocketSession session(String id, List<String> received) throws IOException {
+		WebSocketSession s = mock(WebSocketSession.class);
+		when(s.getId()).thenReturn(id);
+		when(s.isOpen()).thenReturn(true);
+		doAnswer(inv -> {
+			received.add(((WebSocketMessage<?>) inv.getArgument(0)).getPayload().toString());
+			return null;
+		}).when(s).sendMessage(any());
+		return s;
+	}
+
+	// 소켓 버퍼가 찬 피어: close 로 소켓이 닫힐 때까지 sendMessage 가 돌아오지 않음
+	private static WebSocketSession stuckSession(String id, CountDownLatch closed) throws IOException {
+		WebSocketSession s = mock(WebSocketSession.class);
+		when(s.getId()).thenReturn(id);
+		when(s.isOpen()).thenAnswer(inv -> closed.getCount() > 0);
+		doAnswer(inv -> {
+			closed.await();
+			throw new IOException("socket closed");
+		}).when(s).sendMessage(any());
+		doAnswer(inv -> {
+			closed.countDown();
+			return null;
+		}).when(s).close(any(CloseStatus.class));
+		return s;
+	}
+
+	private static void await(List<String> list, int size) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (list.size() < size && System.currentTimeMillis() < deadline) Thread.sleep(5);
+	}
+
+	@Test
+	void deliversInOrderPerSession() throws Exception {
+		List<String> got = new CopyOnWriteArrayList<>();
+		WebSocketSession s = session("a", got);
+		sender.register(s);
+		for (int i = 0; i < 100; i++) sender.send(s, new TextMessage("m" + i));
+
+		await(got, 100);
+		assertEquals(100, got.size());
+		for (int i = 0; i < 100; i++) assertEquals("m" + i, got.get(i));
+	}
+
+	// 송신 스레드가 하나뿐이어도 멈춘 피어는 한도 후 끊기고 다른 세션 전송이 이어짐
+	@Test
+	void stuckPeerIsClosedAndReleasesTheSendThread() throws Exception {
+		CountDownLatch closed = new CountDownLatch(1);
+		WebSocketSession stuck = stuckSession("stuck", closed);
+		List<String> got = new CopyOnWriteArrayList<>();
+		WebSocketSession fast = session("fast", got);
+		sender.register(stuck);
+		sender.register(fast);
+
+		sender.send(stuck, new TextMessage("first"));
+		sender.send(fast, new TextMessage("hello"));
+		Thread.sleep(200);
+		assertTrue(got.isEmpty(), "단일 송신 스레드가 stuck 세션에 묶여 있어야 함");
+
+		// 다음 enqueue 에서 진행 중인 전송 시간이 한도를 넘었음을 확인
+		sender.send(stuck, new TextMessage("second"));
+
+		assertTrue(closed.await(2, TimeUnit.SECONDS));
+		await(got, 1);
+		assertEquals(List.of("hello"), got);
+		verify(stuck, times(1)).sendMessage(any());
+		assertEquals(1, registry.get("safetag.signaling.send.slow.closed").counter().count());
+	}
+
+	// 전송 실패(타임아웃 포함) 세션은 끊고 남은 메시지를 버린다
+	@Test
+	void failedSendClosesSessionAndDropsQueue() throws Exception {
+		WebSocketSession s = mock(WebSocketSession.class);
+		when(s.getId()).thenReturn("broken");
+		when(s.isOpen()).thenReturn(true);
+		doThrow(new IOException("timeout")).when(s).sendMessage(any());
+		sender.register(s);
+
+		for (int i = 0; i < 10; i++) sender.send(s, new TextMessage("m" + i));
+
+		verify(s, timeout(2_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+		Thread.sleep(100);
+		verify(s, times(1)).sendMessage(any());
+		assertEquals(0.0, registry.get("safetag.signaling.send.queued").gauge().value());
+	}
+}
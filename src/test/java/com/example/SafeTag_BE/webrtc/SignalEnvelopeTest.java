@@ -0,0 +1,100 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalEnvelopeTest {
+
+	private final ObjectMapper om = new ObjectMapper();
+	private final JsonFactory factory = om.getFactory();
+
+	@Test
+	void readsEnvelopeInAnyFieldOrder() throws IOException {
+		SignalEnvelope a = SignalEnvelope.read(factory, "{\"type\":\"join\",\"sessionId\":\"room-1\"}");
+		SignalEnvelope b = SignalEnvelope.read(factory, "{\"sdp\":{\"type\":\"offer\",\"sdp\":\"v=0\"},\"sessionId\":\"room-1\",\"type\":\"offer\"}");
+
+		assertEquals("join", a.type());
+		assertEquals("room-1", a.sessionId());
+		assertNull(a.body());
+		// 본문 안의 "type" 은 봉투의 type 이 아님
+		assertEquals("offer", b.type());
+		assertEquals("room-1", b.sessionId());
+	}
+
+	@Test
+	void nonObjectPayloadIsNull() throws IOException {
+		assertNull(SignalEnvelope.read(factory, "[1,2]"));
+		assertNull(SignalEnvelope.read(factory, "\"text\""));
+	}
+
+	@Test
+	void nonScalarEnvelopeFieldsAreIgnored() throws IOException {
+		SignalEnvelope env = SignalEnvelope.read(factory, "{\"type\":{\"x\":1},\"sessionId\":null}");
+		assertNull(env.type());
+		assertNull(env.sessionId());
+	}
+
+	// withBody 로 잘라낸 본문은 원문 JSON 과 같은 값이어야 함
+	@Test
+	void bodyIsSlicedVerbatim() throws IOException {
+		String sdp = "{\"type\":\"answer\",\"sdp\":\"v=0\\r\\no=- 1 2 IN IP4 0.0.0.0\\r\\n\"}";
+		String payload = "{\"type\":\"answer\",\"sessionId\":\"s\",\"sdp\":" + sdp + ",\"extra\":[1,2,3]}";
+
+		SignalEnvelope env = SignalEnvelope.read(factory, payload, true);
+		assertEquals(sdp, env.body());
+		assertEquals(om.readTree(sdp), om.readTree(env.body()));
+		assertFalse(env.endOfCandidates());
+	}
+
+	@Test
+	void scalarBodyIsSlicedWithQuotes() throws IOException {
+		SignalEnvelope env = SignalEnvelope.read(factory, "{\"type\":\"offer\",\"sessionId\":\"s\",\"sdp\":\"v=0\\n\"}", true);
+		assertEquals("\"v=0\\n\"", env.body());
+	}
+
+	@Test
+	void detectsEndOfCandidates() throws IOException {
+		String live = "{\"type\":\"ice\",\"sessionId\":\"s\",\"candidate\":{\"candidate\":\"candidate:1 1 udp 1 1.2.3.4 5 typ host\",\"sdpMid\":\"0\"}}";
+		String empty = "{\"type\":\"ice\",\"sessionId\":\"s\",\"candidate\":{\"candidate\":\"\",\"sdpMid\":\"0\"}}";
+		String nul = "{\"type\":\"ice\",\"sessionId\":\"s\",\"candidate\":null}";
+		String missing = "{\"type\":\"ice\",\"sessionId\":\"s\"}";
+
+		SignalEnvelope liveEnv = SignalEnvelope.read(factory, live, true);
+		assertFalse(liveEnv.endOfCandidates());
+		assertEquals(om.readTree(live).get("candidate"), om.readTree(liveEnv.body()));
+
+		assertTrue(SignalEnvelope.read(factory, empty, true).endOfCandidates());
+		assertTrue(SignalEnvelope.read(factory, nul, true).endOfCandidates());
+		assertNull(SignalEnvelope.read(factory, nul, true).body());
+		assertTrue(SignalEnvelope.read(factory, missing, true).endOfCandidates());
+	}
+
+	// 같은 ice 를 텍스트/바이너리로 받아도 end-of-candidates 판단이 같아야 함
+	@Test
+	void binaryFramesUseSameEndOfCandidatesRule() throws IOException {
+		String[] messages = {
+				"{\"type\":\"ice\",\"sessionId\":\"s\",\"candidate\":{\"candidate\":\"candidate:1\",\"sdpMid\":\"0\"}}",
+				"{\"type\":\"ice\",\"sessionId\":\"s\",\"candidate\":{\"sdpMid\":\"0\",\"candidate\":\"\"}}",
+				"{\"type\":\"ice\",\"sessionId\":\"s\",\"candidate\":{\"sdpMid\":\"0\"}}",
+				"{\"type\":\"ice\",\"sessionId\":\"s\",\"candidate\":null}",
+				"{\"type\":\"ice\",\"sessionId\":\"s\"}"
+		};
+		for (String json : messages) {
+			SignalEnvelope text = SignalEnvelope.read(factory, json, true);
+			BinarySignalCodec.Frame frame = BinarySignalCodec.decode(
+					BinarySignalCodec.encode(BinarySignalCodec.fromJson(factory, json)));
+			SignalEnvelope binary = SignalEnvelope.of(factory, frame);
+
+			assertEquals(text.endOfCandidates(), binary.endOfCandidates(), json);
+			assertEquals(text.body(), binary.body(), json);
+		}
+		// 바이너리로만 보낼 수 있는 본문 "null"
+		assertTrue(SignalEnvelope.of(factory, new BinarySignalCodec.Frame("ice", "s", "null")).endOfCandidates());
+		assertFalse(SignalEnvelope.of(factory, new BinarySignalCodec.Frame("offer", "s", null)).endOfCandidates());
+	}
+}
@@ -0,0 +1,110 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.example.SafeTag_BE.config.SignalingProperties;
+import com.example.SafeTag_BE.entity.CallState;
+import com.example.SafeTag_BE.service.CallSessionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class SignalingHandlerReaperTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final SignalingProperties props = new SignalingProperties();
+	private final Map<String, Instant> expiresAt = new HashMap<>();
+	private SessionSender sender;
+	private CallStateSync callStates;
+	private SignalingHandler handler;
+
+	@BeforeEach
+	void setUp() {
+		props.setIdleTimeoutMs(60_000);
+		sender = new SessionSender(props, registry);
+		callStates = mock(CallStateSync.class);
+		CallSessionService callSessions = mock(CallSessionService.class);
+		when(callSessions.findExpiresAt(anyCollection())).thenAnswer(inv -> new HashMap<>(expiresAt));
+		handler = new SignalingHandler(sender, new LocalSignalingCluster(), new IceBatcher(props, registry),
+				callStates, callSessions, props);
+		handler.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		sender.shutdown();
+	}
+
+	private WebSocketSession join(String id, String room) {
+		WebSocketSession s = mock(WebSocketSession.class);
+		when(s.getId()).thenReturn(id);
+		when(s.isOpen()).thenReturn(true);
+		handler.afterConnectionEstablished(s);
+		handler.handleTextMessage(s, new TextMessage("{\"type\":\"join\",\"sessionId\":\"" + room + "\"}"));
+		return s;
+	}
+
+	// 응답 기한(expiresAt)이 지나도 연결된 통화는 끊지 않음
+	@Test
+	void connectedCallOutlivesRequestExpiry() throws Exception {
+		WebSocketSession a = join("a", "call-1");
+		WebSocketSession b = join("b", "call-1");
+		verify(callStates).enqueue("call-1", CallState.CONNECTED);
+		expiresAt.put("call-1", Instant.now().minusSeconds(1));
+
+		handler.reap();
+		handler.reap();
+
+		verify(a, never()).close(any(CloseStatus.class));
+		verify(b, never()).close(any(CloseStatus.class));
+		verify(callStates, never()).end(eq("call-1"), anyBoolean());
+	}
+
+	// 상대가 오지 않은 채 만료된 방은 닫고 실패로 기록
+	@Test
+	void unansweredRoomIsExpired() throws Exception {
+		WebSocketSession a = join("a", "call-2");
+		expiresAt.put("call-2", Instant.now().minusSeconds(1));
+
+		handler.reap();
+
+		verify(a).close(CloseStatus.GOING_AWAY.withReason("session expired"));
+		verify(callStates).end("call-2", false);
+	}
+
+	@Test
+	void unexpiredRoomIsKept() throws Exception {
+		WebSocketSession a = join("a", "call-3");
+		expiresAt.put("call-3", Instant.now().plusSeconds(60));
+
+		handler.reap();
+
+		verify(a, never()).close(any(CloseStatus.class));
+		verify(callStates, never()).end(eq("call-3"), anyBoolean());
+	}
+
+	// 응답 없는 연결은 정리하고, 연결됐던 통화는 정상 종료로 기록
+	@Test
+	void idleConnectionIsReaped() throws Exception {
+		props.setIdleTimeoutMs(0);
+		WebSocketSession a = join("a", "call-4");
+		WebSocketSession b = join("b", "call-4");
+		Thread.sleep(5);
+
+		handler.reap();
+
+		verify(a).close(CloseStatus.SESSION_NOT_RELIABLE);
+		verify(b).close(CloseStatus.SESSION_NOT_RELIABLE);
+		verify(callStates).end("call-4", true);
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.SafeTag_BE.webrtc;
+
+import com.example.SafeTag_BE.config.SignalingProperties;
+import com.example.SafeTag_BE.service.CallSessionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SignalingHandlerRelayTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final SignalingProperties props = new SignalingProperties();
+	private final SessionSender sender = new SessionSender(props, registry);
+	private final SignalingCluster cluster = mock(SignalingCluster.class);
+	private final SignalingHandler handler = new SignalingHandler(sender, cluster, new IceBatcher(props, registry),
+			mock(CallStateSync.class), mock(CallSessionService.class), props);
+
+	@AfterEach
+	void tearDown() {
+		sender.shutdown();
+	}
+
+	private WebSocketSession binarySession(String id) {
+		WebSocketSession s = mock(WebSocketSession.class);
+		when(s.getId()).thenReturn(id);
+		when(s.isOpen()).thenReturn(true);
+		when(s.getAcceptedProtocol()).thenReturn(BinarySignalCodec.SUBPROTOCOL);
+		handler.afterConnectionEstablished(s);
+		handler.handleBinaryMessage(s, frame("join", null));
+		return s;
+	}
+
+	private BinaryMessage frame(String type, String body) {
+		return new BinaryMessage(BinarySignalCodec.encode(new BinarySignalCodec.Frame(type, "room", body)));
+	}
+
+	// 단일 노드면 바이너리 프레임을 JSON 으로 바꾸지 않음
+	@Test
+	void doesNotPublishWhenClusterIsLocal() {
+		when(cluster.publishes()).thenReturn(false);
+		WebSocketSession a = binarySession("a");
+		binarySession("b");
+
+		handler.handleBinaryMessage(a, frame("offer", "{\"type\":\"offer\",\"sdp\":\"v=0\"}"));
+		verify(cluster, never()).publish(anyString(), anyString());
+	}
+
+	@Test
+	void publishesJsonWhenClusterRelays() throws Exception {
+		when(cluster.publishes()).thenReturn(true);
+		WebSocketSession a = binarySession("a");
+		binarySession("b");
+		clearInvocations(cluster);
+
+		// type 대소문자와 상관없이 본문 필드가 붙어야 함
+		handler.handleBinaryMessage(a, frame("OFFER", "{\"type\":\"offer\",\"sdp\":\"v=0\"}"));
+		ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+		verify(cluster).publish(eq("room"), payload.capture());
+		assertEquals("v=0", new ObjectMapper().readTree(payload.getValue()).at("/sdp/sdp").asText());
+	}
+}